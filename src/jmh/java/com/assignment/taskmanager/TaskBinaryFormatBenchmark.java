@@ -0,0 +1,71 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// JSON versus CBOR and Smile for the largest getAllTasks page: 1000 tasks with 1000-character
+// descriptions. The encoded size of the page is printed at setup; gc.alloc.rate.norm shows the
+// garbage per page.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskBinaryFormatBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private List<Task> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> TaskFixtures.objectMapper();
+        };
+        TypeReference<List<Task>> type = new TypeReference<>() { };
+        pageWriter = objectMapper.writerFor(type);
+        pageReader = objectMapper.readerFor(type);
+        String description = "Write comprehensive documentation for the task management API. ".repeat(16)
+                .substring(0, 1000);
+        page = LongStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(TaskFixtures::entity)
+                .peek(entity -> entity.setDescription(description))
+                .map(TaskMapper::toDto)
+                .toList();
+        encoded = pageWriter.writeValueAsBytes(page);
+        System.out.printf("%n%s: %,d bytes per page of %d tasks%n", format, encoded.length, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void encode() throws Exception {
+        pageWriter.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public List<Task> decode() throws Exception {
+        return pageReader.readValue(encoded);
+    }
+}
@@ -0,0 +1,40 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+
+// Shared inputs of the benchmarks
+final class TaskFixtures {
+
+    private static final ZonedDateTime CREATED_AT = ZonedDateTime.parse("2024-01-01T10:00:00Z");
+
+    private TaskFixtures() {
+    }
+
+    // Configured like Spring Boot's (java.time support, ISO dates rather than timestamps)
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static TaskEntity entity(long id) {
+        TaskEntity entity = new TaskEntity();
+        entity.setId(id);
+        entity.setTitle("Complete project documentation " + id);
+        entity.setDescription("Write comprehensive documentation for the task management API");
+        entity.setCompleted(id % 2 == 0);
+        entity.setCreatedAt(CREATED_AT.plusSeconds(id));
+        entity.setUpdatedAt(CREATED_AT.plusSeconds(id + 60));
+        return entity;
+    }
+
+    static TaskRequest request() {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Complete project documentation");
+        request.setDescription("Write comprehensive documentation for the task management API");
+        request.setCompleted(false);
+        return request;
+    }
+}
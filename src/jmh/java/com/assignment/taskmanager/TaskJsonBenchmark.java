@@ -0,0 +1,68 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Jackson (de)serialization of single request and response bodies, with the same ObjectMapper
+// settings Spring Boot applies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskJsonBenchmark {
+
+    private ObjectWriter taskWriter;
+    private ObjectReader taskReader;
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+
+    private Task task;
+    private byte[] taskJson;
+    private TaskRequest request;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = TaskFixtures.objectMapper();
+        taskWriter = objectMapper.writerFor(Task.class);
+        taskReader = objectMapper.readerFor(Task.class);
+        requestWriter = objectMapper.writerFor(TaskRequest.class);
+        requestReader = objectMapper.readerFor(TaskRequest.class);
+
+        task = TaskMapper.toDto(TaskFixtures.entity(1L));
+        taskJson = taskWriter.writeValueAsBytes(task);
+        request = TaskFixtures.request();
+        requestJson = requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws Exception {
+        return taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public Task deserializeTask() throws Exception {
+        return taskReader.readValue(taskJson);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskRequest() throws Exception {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public TaskRequest deserializeTaskRequest() throws Exception {
+        return requestReader.readValue(requestJson);
+    }
+}
@@ -0,0 +1,53 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Whole-list responses: the JSON array alone, and mapping plus JSON as a list endpoint does it.
+// Output goes to a discarding stream so the cost of growing a buffer is not part of the score.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskListSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ObjectWriter listWriter;
+    private List<TaskEntity> entities;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        listWriter = TaskFixtures.objectMapper().writerFor(new TypeReference<List<Task>>() { });
+        entities = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            entities.add(TaskFixtures.entity(id));
+        }
+        tasks = entities.stream().map(TaskMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public void serializeList() throws Exception {
+        listWriter.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void mapAndSerializeList() throws Exception {
+        listWriter.writeValue(OutputStream.nullOutputStream(), entities.stream().map(TaskMapper::toDto).toList());
+    }
+}
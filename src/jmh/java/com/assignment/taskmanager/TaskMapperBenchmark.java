@@ -0,0 +1,48 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import com.assignment.taskmanager.model.TaskRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Entity <-> DTO mapping done for every task a response carries (ZonedDateTime -> OffsetDateTime
+// conversion plus a new Task per row)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmark {
+
+    private TaskEntity entity;
+    private TaskRequest request;
+
+    @Setup
+    public void setUp() {
+        entity = TaskFixtures.entity(1L);
+        request = TaskFixtures.request();
+    }
+
+    @Benchmark
+    public Task toDto() {
+        return TaskMapper.toDto(entity);
+    }
+
+    @Benchmark
+    public TaskEntity toEntity() {
+        return TaskMapper.toEntity(request);
+    }
+
+    // The conversion alone, to separate it from the Task allocation
+    @Benchmark
+    public Object toOffsetDateTime() {
+        ZonedDateTime createdAt = entity.getCreatedAt();
+        return createdAt.toOffsetDateTime();
+    }
+}
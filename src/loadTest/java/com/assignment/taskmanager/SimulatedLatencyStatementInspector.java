@@ -0,0 +1,21 @@
+package com.assignment.taskmanager;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Adds a fixed delay before every SQL statement so the in-memory database behaves like a network
+// round trip to MySQL: request threads block on I/O instead of finishing instantly.
+// The delay is read from the loadtest.db-latency-ms system property (default 2 ms).
+public class SimulatedLatencyStatementInspector implements StatementInspector {
+
+    private static final long LATENCY_MS = Long.getLong("loadtest.db-latency-ms", 2);
+
+    @Override
+    public String inspect(String sql) {
+        try {
+            Thread.sleep(LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,190 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import com.assignment.taskmanager.reactive.ReactiveTaskmanagerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput and p99 latency of the five TasksApi operations with Tomcat on platform threads versus
+// virtual threads (and optionally the reactive variant). Each mode boots the application on a random
+// port with a simulated database round trip (SimulatedLatencyStatementInspector, JPA modes only);
+// concurrent clients loop over create -> get -> update -> list -> delete through real HTTP.
+// Tunables: -Dloadtest.modes=platform,virtual,reactive, -Dloadtest.clients, -Dloadtest.duration-seconds,
+// -Dloadtest.db-latency-ms
+class TaskApiLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20));
+    // Larger than Tomcat's default of 200 platform threads, so the thread cap rather than the pool
+    // is what limits concurrency in platform mode
+    private static final int POOL_SIZE = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    enum Operation { CREATE, GET, UPDATE, LIST, DELETE }
+
+    enum Mode { PLATFORM, VIRTUAL, REACTIVE }
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        System.out.printf("%d clients, %ds per mode%n", CLIENTS, DURATION.toSeconds());
+        System.out.printf("%-9s %-7s %10s %10s %10s%n", "mode", "op", "req/s", "p50 ms", "p99 ms");
+
+        for (Mode mode : modes()) {
+            try (ConfigurableApplicationContext context = start(mode)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI base = URI.create("http://localhost:" + port);
+
+                drive(base, WARMUP);
+                Report report = drive(base, DURATION);
+
+                for (Operation operation : Operation.values()) {
+                    List<Long> latencies = report.latencies().get(operation);
+                    System.out.printf("%-9s %-7s %,10.0f %10.2f %10.2f%n",
+                            mode.name().toLowerCase(),
+                            operation,
+                            latencies.size() / (double) DURATION.toSeconds(),
+                            percentile(latencies, 0.50) / 1e6,
+                            percentile(latencies, 0.99) / 1e6);
+                }
+                assertThat(report.errors()).as("unexpected responses").isZero();
+            }
+        }
+    }
+
+    private static List<Mode> modes() {
+        return Arrays.stream(System.getProperty("loadtest.modes", "platform,virtual").split(","))
+                .map(mode -> Mode.valueOf(mode.trim().toUpperCase()))
+                .toList();
+    }
+
+    private static ConfigurableApplicationContext start(Mode mode) {
+        if (mode == Mode.REACTIVE) {
+            SpringApplicationBuilder reactive = new SpringApplicationBuilder(ReactiveTaskmanagerApplication.class)
+                    .web(WebApplicationType.REACTIVE)
+                    .properties("server.port=0", "spring.r2dbc.pool.max-size=" + POOL_SIZE);
+            if (System.getProperty("spring.r2dbc.url") == null) {
+                reactive.properties(
+                        "spring.r2dbc.url=r2dbc:h2:mem:///loadtest-reactive;DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.username=sa",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:reactive/schema-h2.sql");
+            }
+            return reactive.run();
+        }
+        return new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + (mode == Mode.VIRTUAL),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + SimulatedLatencyStatementInspector.class.getName())
+                .run();
+    }
+
+    private Report drive(URI base, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<Map<Operation, List<Long>>>> clients = new ArrayList<>(CLIENTS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    Map<Operation, List<Long>> latencies = newLatencies();
+                    while (System.nanoTime() < deadline) {
+                        runCycle(base, latencies, errors);
+                    }
+                    return latencies;
+                }));
+            }
+        }
+
+        Map<Operation, List<Long>> merged = newLatencies();
+        for (Future<Map<Operation, List<Long>>> client : clients) {
+            client.get().forEach((operation, latencies) -> merged.get(operation).addAll(latencies));
+        }
+        return new Report(merged, errors.get());
+    }
+
+    // One pass over the five TasksApi operations on a task of its own
+    private void runCycle(URI base, Map<Operation, List<Long>> latencies, AtomicLong errors) throws Exception {
+        String body = "{\"title\":\"Load test\",\"description\":\"Generated by TaskApiLoadTest\",\"completed\":false}";
+        HttpResponse<String> created = call(latencies, errors, Operation.CREATE, 201,
+                json(base.resolve("/tasks")).POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (created.statusCode() != 201) {
+            return;
+        }
+        long id = objectMapper.readTree(created.body()).get("id").asLong();
+        URI task = base.resolve("/tasks/" + id);
+
+        call(latencies, errors, Operation.GET, 200, json(task).GET());
+        call(latencies, errors, Operation.UPDATE, 200,
+                json(task).PUT(HttpRequest.BodyPublishers.ofString(body.replace("false", "true"))));
+        call(latencies, errors, Operation.LIST, 200, json(base.resolve("/tasks?limit=20")).GET());
+        call(latencies, errors, Operation.DELETE, 204, json(task).DELETE());
+    }
+
+    private HttpResponse<String> call(Map<Operation, List<Long>> latencies, AtomicLong errors,
+                                      Operation operation, int expectedStatus, HttpRequest.Builder request)
+            throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        latencies.get(operation).add(System.nanoTime() - start);
+        if (response.statusCode() != expectedStatus) {
+            errors.incrementAndGet();
+        }
+        return response;
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private static Map<Operation, List<Long>> newLatencies() {
+        Map<Operation, List<Long>> latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ArrayList<>());
+        }
+        return latencies;
+    }
+
+    private static long percentile(List<Long> latencies, double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = latencies.stream().sorted().toList();
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private record Report(Map<Operation, List<Long>> latencies, long errors) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Rows/sec of the single-item create path versus POST /tasks:batch, both through the full MVC stack
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBatchThroughputTest {
+
+    private static final int ROWS = 5_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int WARMUP_ROWS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void batchCreateOutperformsSingleItemCreate() throws Exception {
+        String single = objectMapper.writeValueAsString(request(0));
+        List<TaskRequest> chunk = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            chunk.add(request(i));
+        }
+        String batch = objectMapper.writeValueAsString(chunk);
+
+        // Warm up both paths so JIT compilation is not part of either measurement
+        createSingly(single, WARMUP_ROWS);
+        createInBatches(batch, WARMUP_ROWS);
+
+        double singleRate = rowsPerSecond(ROWS, () -> createSingly(single, ROWS));
+        double batchRate = rowsPerSecond(ROWS, () -> createInBatches(batch, ROWS));
+
+        System.out.printf("POST /tasks        : %,10.0f rows/s%n", singleRate);
+        System.out.printf("POST /tasks:batch  : %,10.0f rows/s (%.1fx)%n", batchRate, batchRate / singleRate);
+
+        assertThat(taskRepository.count()).isEqualTo(2L * (WARMUP_ROWS + ROWS));
+        assertThat(batchRate).isGreaterThan(singleRate);
+    }
+
+    private void createSingly(String body, int rows) throws Exception {
+        for (int i = 0; i < rows; i++) {
+            mockMvc.perform(post("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void createInBatches(String body, int rows) throws Exception {
+        for (int i = 0; i < rows; i += BATCH_SIZE) {
+            mockMvc.perform(post("/tasks:batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static double rowsPerSecond(int rows, Workload workload) throws Exception {
+        long start = System.nanoTime();
+        workload.run();
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static TaskRequest request(int i) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Imported task " + i);
+        request.setDescription("Generated by the batch throughput benchmark");
+        request.setCompleted(false);
+        return request;
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,115 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many clients increment a counter held in one task with read-modify-write over HTTP. "blind" writes
+// without a version (last writer wins) and counts how many increments were lost; "optimistic" sends
+// the version it read and retries on 409. Prints applied increments/s, conflicts and lost updates.
+// Tunables: -Dloadtest.clients, -Dloadtest.duration-seconds
+class TaskContentionLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void blindVersusOptimisticWrites() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + port);
+
+            System.out.printf("%d clients on one task, %ds per mode%n", CLIENTS, DURATION.toSeconds());
+            System.out.printf("%-11s %12s %12s %10s%n", "mode", "applied/s", "conflicts/s", "lost");
+            for (boolean versioned : new boolean[] { false, true }) {
+                Report report = hammer(base, versioned);
+                System.out.printf("%-11s %,12.0f %,12.0f %,10d%n",
+                        versioned ? "optimistic" : "blind",
+                        report.acknowledged() / (double) DURATION.toSeconds(),
+                        report.conflicts() / (double) DURATION.toSeconds(),
+                        report.acknowledged() - report.finalCount());
+                assertThat(report.errors()).as("unexpected responses").isZero();
+                if (versioned) {
+                    assertThat(report.finalCount()).as("acknowledged increments").isEqualTo(report.acknowledged());
+                }
+            }
+        }
+    }
+
+    private Report hammer(URI base, boolean versioned) throws Exception {
+        HttpResponse<String> created = http.send(json(base.resolve("/tasks"))
+                .POST(HttpRequest.BodyPublishers.ofString(body(0, null)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        URI task = base.resolve("/tasks/" + objectMapper.readTree(created.body()).get("id").asLong());
+
+        long deadline = System.nanoTime() + DURATION.toNanos();
+        AtomicLong acknowledged = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        JsonNode current = read(task);
+                        long next = Long.parseLong(current.get("title").asText()) + 1;
+                        Long version = versioned ? current.get("version").asLong() : null;
+                        int status = http.send(json(task)
+                                .PUT(HttpRequest.BodyPublishers.ofString(body(next, version)))
+                                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 200) {
+                            acknowledged.incrementAndGet();
+                        } else if (status == 409) {
+                            conflicts.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        long finalCount = Long.parseLong(read(task).get("title").asText());
+        return new Report(acknowledged.get(), conflicts.get(), finalCount, errors.get());
+    }
+
+    private JsonNode read(URI task) throws Exception {
+        return objectMapper.readTree(http.send(json(task).GET().build(), HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static String body(long count, Long version) {
+        return "{\"title\":\"" + count + "\",\"description\":\"Shared counter\",\"completed\":false"
+                + (version != null ? ",\"version\":" + version : "") + "}";
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private record Report(long acknowledged, long conflicts, long finalCount, long errors) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput of the outbox relay on H2. First a backlog is drained as fast as possible; then writers
+// append events at a steady rate (10k/s by default) while the relay runs on its own thread, and the
+// relay has to keep up. Prints events/s and the lag from write to sink.
+// Tunables: -Dloadtest.events-per-second, -Dloadtest.duration-seconds, -Dloadtest.backlog
+@SpringBootTest(properties = "taskmanager.outbox.relay.enabled=false")
+class TaskOutboxRelayLoadTest {
+
+    private static final int EVENTS_PER_SECOND = Integer.getInteger("loadtest.events-per-second", 10_000);
+    private static final int BACKLOG = Integer.getInteger("loadtest.backlog", 100_000);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20));
+    // Writes per second as the service would see them: many small transactions
+    private static final int EVENTS_PER_TRANSACTION = 20;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskEventRelay taskEventRelay;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Test
+    void relayKeepsUpWithTheWriteRate() throws Exception {
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        List<Long> taskIds = new ArrayList<>(EVENTS_PER_TRANSACTION);
+        for (long id = 1; id <= EVENTS_PER_TRANSACTION; id++) {
+            taskIds.add(id);
+        }
+
+        // Drain: the relay's ceiling
+        for (int i = 0; i < BACKLOG; i += EVENTS_PER_TRANSACTION) {
+            transactions.executeWithoutResult(status -> taskOutbox.append(TaskEventEntity.Type.UPDATED, taskIds));
+        }
+        long start = System.nanoTime();
+        int drained = taskEventRelay.relay();
+        double drainRate = drained / ((System.nanoTime() - start) / 1e9);
+        sink.reset();
+
+        // Steady: writers at the target rate, relay polling as the scheduler would
+        AtomicBoolean writing = new AtomicBoolean(true);
+        long written = 0;
+        try (ExecutorService relayThread = Executors.newSingleThreadExecutor()) {
+            relayThread.submit(() -> {
+                while (writing.get() || taskEventRepository.findMaxSeq().orElse(0L) < taskEventRepository.count()) {
+                    if (taskEventRelay.relay() == 0) {
+                        Thread.sleep(10);
+                    }
+                }
+                return null;
+            });
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) * EVENTS_PER_TRANSACTION / EVENTS_PER_SECOND;
+            long next = System.nanoTime();
+            long deadline = next + DURATION.toNanos();
+            while (next < deadline) {
+                transactions.executeWithoutResult(status -> taskOutbox.append(TaskEventEntity.Type.UPDATED, taskIds));
+                written += EVENTS_PER_TRANSACTION;
+                next += intervalNanos;
+                long sleep = next - System.nanoTime();
+                if (sleep > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                }
+            }
+            writing.set(false);
+        }
+
+        List<Long> lags = sink.lagsMillis();
+        Collections.sort(lags);
+        System.out.printf("drain  : %,10.0f events/s (%,d events)%n", drainRate, drained);
+        System.out.printf("steady : %,10.0f events/s written for %ds, lag p50 %d ms, p99 %d ms, max %d ms%n",
+                written / (double) DURATION.toSeconds(), DURATION.toSeconds(),
+                lags.get(lags.size() / 2), lags.get(lags.size() * 99 / 100), lags.get(lags.size() - 1));
+
+        assertThat(sink.count()).as("events published").isEqualTo(written);
+        assertThat(sink.inOrder()).as("sequence numbers strictly increasing").isTrue();
+        assertThat(drainRate).isGreaterThan(EVENTS_PER_SECOND);
+        // Keeping up means a backlog never builds: events are out within a few relay intervals
+        assertThat(lags.get(lags.size() * 99 / 100)).as("p99 lag ms").isLessThan(1_000L);
+    }
+
+    @TestConfiguration
+    static class SinkConfiguration {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    // Called from the relay thread only
+    static class RecordingSink implements TaskChangeSink {
+
+        private final List<Long> lags = new ArrayList<>();
+        private long lastSeq;
+        private boolean inOrder = true;
+
+        @Override
+        public synchronized void publish(List<TaskChange> changes) {
+            OffsetDateTime now = OffsetDateTime.now();
+            for (TaskChange change : changes) {
+                lags.add(Duration.between(change.getOccurredAt(), now).toMillis());
+                inOrder &= change.getSeq() > lastSeq;
+                lastSeq = change.getSeq();
+            }
+        }
+
+        synchronized void reset() {
+            lags.clear();
+        }
+
+        synchronized long count() {
+            return lags.size();
+        }
+
+        synchronized boolean inOrder() {
+            return inOrder;
+        }
+
+        synchronized List<Long> lagsMillis() {
+            return new ArrayList<>(lags);
+        }
+    }
+}
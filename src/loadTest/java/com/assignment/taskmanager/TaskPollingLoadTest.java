@@ -0,0 +1,156 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bandwidth and CPU of clients that poll GET /tasks/{id} and GET /tasks, once re-fetching every
+// time and once revalidating with If-None-Match. A writer keeps changing a few tasks, so some polls
+// still return 200. CPU is the process CPU time, so it covers the clients in this JVM as well.
+// Tunables: -Dloadtest.clients, -Dloadtest.duration-seconds, -Dloadtest.tasks, -Dloadtest.updates-per-second
+class TaskPollingLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 50);
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 500);
+    private static final int UPDATES_PER_SECOND = Integer.getInteger("loadtest.updates-per-second", 20);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void unconditionalVersusConditionalPolling() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + port);
+            List<Long> ids = seed(base);
+
+            System.out.printf("%d clients polling %d tasks, %d updates/s, %ds per mode%n",
+                    CLIENTS, TASKS, UPDATES_PER_SECOND, DURATION.toSeconds());
+            System.out.printf("%-12s %10s %10s %14s %16s%n", "mode", "req/s", "304 share", "body KB/req", "CPU us/req");
+
+            Report unconditional = null;
+            for (boolean conditional : new boolean[] { false, true }) {
+                poll(base, ids, conditional, WARMUP);
+                Report report = poll(base, ids, conditional, DURATION);
+                System.out.printf("%-12s %,10.0f %9.1f%% %14.2f %16.1f%n",
+                        conditional ? "conditional" : "full",
+                        report.requests() / (double) DURATION.toSeconds(),
+                        100.0 * report.notModified() / report.requests(),
+                        report.bodyBytes() / 1024.0 / report.requests(),
+                        report.cpuNanos() / 1e3 / report.requests());
+                assertThat(report.errors()).as("unexpected responses").isZero();
+                if (!conditional) {
+                    unconditional = report;
+                } else {
+                    assertThat(report.notModified()).isPositive();
+                    assertThat(report.bodyBytes() / (double) report.requests())
+                            .isLessThan(unconditional.bodyBytes() / (double) unconditional.requests());
+                }
+            }
+        }
+    }
+
+    private List<Long> seed(URI base) throws Exception {
+        List<Long> ids = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            HttpResponse<String> created = http.send(json(base.resolve("/tasks"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body("Polled task " + i)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            ids.add(objectMapper.readTree(created.body()).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Report poll(URI base, List<Long> ids, boolean conditional, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong notModified = new AtomicLong();
+        AtomicLong bodyBytes = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long cpuBefore = processCpuNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                // Writer: a steady trickle of changes so revalidation sometimes has to return the new body
+                while (System.nanoTime() < deadline) {
+                    long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    http.send(json(base.resolve("/tasks/" + id))
+                            .PUT(HttpRequest.BodyPublishers.ofString(body("Changed " + System.nanoTime())))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    Thread.sleep(1000 / Math.max(UPDATES_PER_SECOND, 1));
+                }
+                return null;
+            });
+            for (int i = 0; i < CLIENTS; i++) {
+                executor.submit(() -> {
+                    // Each client remembers the last ETag per URL, like an HTTP cache would
+                    Map<URI, String> etags = new HashMap<>();
+                    while (System.nanoTime() < deadline) {
+                        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        for (URI uri : List.of(base.resolve("/tasks/" + id), base.resolve("/tasks?limit=50"))) {
+                            HttpRequest.Builder request = json(uri).GET();
+                            if (conditional && etags.containsKey(uri)) {
+                                request.header("If-None-Match", etags.get(uri));
+                            }
+                            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                            requests.incrementAndGet();
+                            bodyBytes.addAndGet(response.body().length);
+                            if (response.statusCode() == 304) {
+                                notModified.incrementAndGet();
+                            } else if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                            response.headers().firstValue("ETag").ifPresent(etag -> etags.put(uri, etag));
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Report(requests.get(), notModified.get(), bodyBytes.get(), processCpuNanos() - cpuBefore, errors.get());
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private static String body(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Generated by TaskPollingLoadTest\",\"completed\":false}";
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private record Report(long requests, long notModified, long bodyBytes, long cpuNanos, long errors) {
+    }
+}
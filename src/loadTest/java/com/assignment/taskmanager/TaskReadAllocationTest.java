@@ -0,0 +1,93 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bytes allocated on the calling thread per read: hydrating TaskEntity and mapping it, versus the
+// TaskView projections the read endpoints use. Same queries, same DTOs at the end.
+@SpringBootTest
+class TaskReadAllocationTest {
+
+    private static final int ROWS = 1_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        List<TaskEntity> tasks = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setTitle("Task " + i);
+            task.setDescription("Generated by the read allocation benchmark");
+            tasks.add(task);
+        }
+        id = taskRepository.saveAll(tasks).get(ROWS / 2).getId();
+    }
+
+    @Test
+    void projectionsAllocateLessThanEntities() {
+        Specification<TaskEntity> filter = new TaskFilter(false, null, null, null, null, null).toSpecification();
+        Sort sort = Sort.by("id");
+
+        long entityPage = bytesPerCall(() -> taskRepository.findBy(filter, query -> query.sortBy(sort).limit(PAGE_SIZE + 1).all())
+                .stream().map(TaskMapper::toDto).toList());
+        long viewPage = bytesPerCall(() -> taskRepository.findViewPage(filter, sort, PAGE_SIZE + 1)
+                .stream().map(TaskMapper::toDto).toList());
+        long entityById = bytesPerCall(() -> taskRepository.findById(id).map(TaskMapper::toDto));
+        long viewById = bytesPerCall(() -> taskRepository.findViewById(id).map(TaskMapper::toDto));
+
+        System.out.printf("GET /tasks (page of %d)  entity: %,10d B/op   view: %,10d B/op (%.0f%%)%n",
+                PAGE_SIZE, entityPage, viewPage, 100.0 * viewPage / entityPage);
+        System.out.printf("GET /tasks/{id}          entity: %,10d B/op   view: %,10d B/op (%.0f%%)%n",
+                entityById, viewById, 100.0 * viewById / entityById);
+
+        assertThat(viewPage).isLessThan(entityPage);
+        assertThat(viewById).isLessThan(entityById);
+    }
+
+    private static long bytesPerCall(Read read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.run();
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    // Keeps the result reachable until the call returns, like a controller handing it to Jackson
+    @FunctionalInterface
+    private interface Read {
+        Object read();
+
+        default void run() {
+            Object result = read();
+            if (result instanceof Optional<?> optional && optional.map(Task.class::cast).isEmpty()) {
+                throw new IllegalStateException("task not found");
+            }
+        }
+    }
+}
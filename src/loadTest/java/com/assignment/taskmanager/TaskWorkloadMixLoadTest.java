@@ -0,0 +1,273 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Open-model load test: requests arrive at a fixed rate whatever the response times, in a mix of the
+// five TasksApi operations. The sequence of operations and target tasks comes from a seeded random,
+// so two runs (or two commits) get the same workload. Latency is measured from when a request was
+// due, not from when it was sent, so a stalled server shows up in the percentiles instead of quietly
+// slowing the arrivals (coordinated omission).
+// Prints percentiles and throughput per operation. Writes one HDR histogram per operation (.hgrm,
+// plottable with HdrHistogram's plotter) and summary.json to build/results/loadtest/<commit>.
+// Tunables: -Dloadtest.rate (requests/s), -Dloadtest.duration-seconds, -Dloadtest.seed, -Dloadtest.tasks,
+// -Dloadtest.mix=get:60,list:15,create:10,update:10,delete:5, -Dloadtest.db-latency-ms
+class TaskWorkloadMixLoadTest {
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 500);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 1_000);
+    private static final String MIX = System.getProperty("loadtest.mix", "get:60,list:15,create:10,update:10,delete:5");
+    private static final Path RESULTS = Path.of(System.getProperty("loadtest.results-dir", "build/results/loadtest"));
+    private static final String COMMIT = System.getProperty("loadtest.commit", "unknown");
+    // Anything slower is recorded as a minute
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    enum Operation { CREATE, GET, UPDATE, LIST, DELETE }
+
+    @Test
+    void fixedRateWorkloadMix() throws Exception {
+        Map<Operation, Integer> mix = mix();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + SimulatedLatencyStatementInspector.class.getName())
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + port);
+            List<Long> tasks = seed(base);
+
+            run(base, tasks, mix, WARMUP);
+            Report report = run(base, tasks, mix, DURATION);
+
+            System.out.printf("%,d req/s offered for %ds, mix %s, seed %d, commit %s%n",
+                    RATE, DURATION.toSeconds(), MIX, SEED, COMMIT);
+            System.out.printf("%-7s %9s %10s %9s %9s %9s %9s %9s%n",
+                    "op", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = report.latencies().get(operation);
+                System.out.printf("%-7s %,9d %,10.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        operation,
+                        histogram.getTotalCount(),
+                        histogram.getTotalCount() / report.seconds(),
+                        millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1e3);
+            }
+            System.out.printf("total   %,9d %,10.0f   errors %d, skipped deletes %d%n",
+                    report.completed(), report.completed() / report.seconds(), report.errors(), report.skipped());
+            write(report, mix);
+
+            assertThat(report.errors()).as("unexpected responses").isZero();
+        }
+    }
+
+    private static Map<Operation, Integer> mix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    // The tasks that GET, UPDATE and LIST work on; DELETE only removes tasks this run created
+    private List<Long> seed(URI base) throws Exception {
+        List<Long> ids = new ArrayList<>(TASKS);
+        for (int offset = 0; offset < TASKS; offset += 1_000) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = offset; i < Math.min(offset + 1_000, TASKS); i++) {
+                body.append(i > offset ? "," : "")
+                        .append("{\"title\":\"Task ").append(i).append("\",\"description\":\"Seeded\",\"completed\":false}");
+            }
+            HttpResponse<String> response = http.send(json(base.resolve("/tasks:batch"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body.append("]").toString())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(200);
+            objectMapper.readTree(response.body()).forEach(result -> ids.add(result.get("id").asLong()));
+        }
+        return ids;
+    }
+
+    private Report run(URI base, List<Long> tasks, Map<Operation, Integer> mix, Duration duration) {
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+        }
+        Deque<Long> created = new ConcurrentLinkedDeque<>();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        Random random = new Random(SEED);
+        int weights = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long requests = RATE * duration.toSeconds();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) RATE;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                // Both are drawn for every request, so the sequence never depends on the responses
+                Operation operation = pick(mix, random.nextInt(weights));
+                long task = tasks.get(random.nextInt(tasks.size()));
+                long due = start + (long) (i * intervalNanos);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.submit(() -> call(base, operation, task, due, latencies, created, errors, skipped));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long completed = latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        return new Report(latencies, completed, seconds, errors.get(), skipped.get());
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int draw) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Empty mix: " + MIX);
+    }
+
+    private Void call(URI base, Operation operation, long task, long due, Map<Operation, Histogram> latencies,
+                      Deque<Long> created, AtomicLong errors, AtomicLong skipped) throws Exception {
+        String body = "{\"title\":\"Load test\",\"description\":\"Generated by TaskWorkloadMixLoadTest\",\"completed\":false}";
+        URI target = base.resolve("/tasks/" + task);
+        HttpRequest.Builder request;
+        int expectedStatus;
+        switch (operation) {
+            case CREATE -> {
+                request = json(base.resolve("/tasks")).POST(HttpRequest.BodyPublishers.ofString(body));
+                expectedStatus = 201;
+            }
+            case GET -> {
+                request = json(target).GET();
+                expectedStatus = 200;
+            }
+            case UPDATE -> {
+                request = json(target).PUT(HttpRequest.BodyPublishers.ofString(body.replace("false", "true")));
+                expectedStatus = 200;
+            }
+            case LIST -> {
+                request = json(base.resolve("/tasks?limit=20&after=" + task)).GET();
+                expectedStatus = 200;
+            }
+            default -> {
+                Long id = created.pollFirst();
+                if (id == null) {
+                    skipped.incrementAndGet(); // Nothing created yet to delete
+                    return null;
+                }
+                request = json(base.resolve("/tasks/" + id)).DELETE();
+                expectedStatus = 204;
+            }
+        }
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            return null;
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            latencies.get(operation).recordValue(Math.min(micros, HIGHEST_MICROS));
+        }
+        if (response.statusCode() != expectedStatus) {
+            errors.incrementAndGet();
+        } else if (operation == Operation.CREATE) {
+            created.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return null;
+    }
+
+    // One directory per commit, so runs can be diffed
+    private void write(Report report, Map<Operation, Integer> mix) throws Exception {
+        Path directory = Files.createDirectories(RESULTS.resolve(COMMIT));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = report.latencies().get(operation);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1e3); // in milliseconds
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", histogram.getTotalCount());
+            summary.put("requestsPerSecond", histogram.getTotalCount() / report.seconds());
+            summary.put("p50Ms", millis(histogram, 50));
+            summary.put("p90Ms", millis(histogram, 90));
+            summary.put("p99Ms", millis(histogram, 99));
+            summary.put("p999Ms", millis(histogram, 99.9));
+            summary.put("maxMs", histogram.getMaxValue() / 1e3);
+            operations.put(operation.name().toLowerCase(), summary);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("commit", COMMIT);
+        summary.put("offeredRate", RATE);
+        summary.put("durationSeconds", DURATION.toSeconds());
+        summary.put("seed", SEED);
+        summary.put("mix", mix);
+        summary.put("tasks", TASKS);
+        summary.put("dbLatencyMs", Long.getLong("loadtest.db-latency-ms", 2));
+        summary.put("requestsPerSecond", report.completed() / report.seconds());
+        summary.put("errors", report.errors());
+        summary.put("skippedDeletes", report.skipped());
+        summary.put("operations", operations);
+        objectMapper.writeValue(directory.resolve("summary.json").toFile(), summary);
+        System.out.println("Results in " + directory.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e3;
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private record Report(Map<Operation, Histogram> latencies, long completed, double seconds,
+                          long errors, long skipped) {
+    }
+}
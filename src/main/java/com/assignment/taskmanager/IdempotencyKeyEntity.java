@@ -0,0 +1,34 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+// A create request that carried an Idempotency-Key, with the response it got. Inserted in the same
+// transaction as the tasks it created, so the key exists exactly when they do; the primary key
+// decides between two instances racing on the same key.
+@Data
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_idempotency_key_created_at", columnList = "created_at")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(length = 300) // Operation name and the client's key (up to 255 characters)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, so a key reused for another request is refused instead of replayed
+    @Column(length = 64)
+    private String requestHash;
+
+    private int status;
+
+    private String etag;
+
+    @Lob
+    private String body;
+
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.assignment.taskmanager;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    // Plain INSERT: save() would merge, i.e. read the key first and overwrite a row another request
+    // committed in the meantime. A duplicate key fails with DataIntegrityViolationException.
+    @Modifying
+    @Query("insert into IdempotencyKeyEntity (idempotencyKey, requestHash, status, etag, body, createdAt) "
+            + "values (:idempotencyKey, :requestHash, :status, :etag, :body, :createdAt)")
+    void insert(@Param("idempotencyKey") String idempotencyKey,
+                @Param("requestHash") String requestHash,
+                @Param("status") int status,
+                @Param("etag") String etag,
+                @Param("body") String body,
+                @Param("createdAt") ZonedDateTime createdAt);
+
+    // Single DELETE of keys older than the retention period
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKeyEntity k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") ZonedDateTime cutoff);
+}
@@ -0,0 +1,53 @@
+package com.assignment.taskmanager;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Counts the statements each request runs on its thread and flags requests above
+// max-statements-per-request, the usual sign of an N+1 (one query per row of a page). Work handed
+// to other threads, like the export stream, is not counted.
+// Published as taskmanager.sql.statements per TasksApi operation.
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int maxStatementsPerRequest;
+
+    public SqlStatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${taskmanager.sql.max-statements-per-request:50}") int maxStatementsPerRequest) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementMonitor.Scope scope = SqlStatementMonitor.open(false)) {
+            chain.doFilter(request, response);
+            String operation = TaskOperationObservationConvention.operation(request);
+            if (scope.statements() > maxStatementsPerRequest) {
+                log.warn("{} {} ({}) ran {} SQL statements", request.getMethod(), request.getRequestURI(),
+                        operation, scope.statements());
+            }
+            meterRegistry.ifAvailable(registry -> DistributionSummary.builder("taskmanager.sql.statements")
+                    .description("SQL statements per request")
+                    .tag("operation", operation)
+                    .register(registry)
+                    .record(scope.statements()));
+        }
+    }
+}
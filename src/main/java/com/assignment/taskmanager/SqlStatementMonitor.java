@@ -0,0 +1,147 @@
+package com.assignment.taskmanager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Watches every JDBC statement through the datasource-proxy layer that datasource-micrometer puts
+// around the DataSource (it adds QueryExecutionListener beans to it). Statements slower than
+// slow-threshold are logged with their bound values and timing; everything else is not logged at all.
+// Statements are also counted per Scope, a span of work on one thread such as a request
+// (SqlStatementCountFilter) or a test; a JDBC batch is one statement, i.e. one round trip.
+// Published as taskmanager.sql.slow.
+@Component
+public class SqlStatementMonitor implements QueryExecutionListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMonitor.class);
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final long slowThresholdMillis;
+    private final LongAdder slow = new LongAdder();
+
+    public SqlStatementMonitor(@Value("${taskmanager.sql.slow-threshold:200ms}") Duration slowThreshold) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+    }
+
+    // Counts the statements run on this thread until closed; scopes nest, and an inner one also
+    // counts towards the outer ones
+    public static Scope open(boolean recordSql) {
+        Scope scope = new Scope(CURRENT.get(), recordSql);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(queryInfoList);
+        }
+        if (execInfo.getElapsedTime() >= slowThresholdMillis) {
+            slow.increment();
+            log.warn("Slow statement ({} ms{}): {} {}", execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    joinedSql(queryInfoList), parameters(queryInfoList));
+        }
+    }
+
+    private static String joinedSql(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    }
+
+    // The bound values in parameter order, one list per row of a batch
+    private static String parameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(query -> query.getParametersList().stream())
+                .map(row -> row.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .filter(args -> args.length > 1)
+                        .map(args -> String.valueOf(args[1]))
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(" "));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskmanager.sql.slow", slow, LongAdder::sum)
+                .description("Statements that ran longer than taskmanager.sql.slow-threshold")
+                .register(registry);
+    }
+
+    public static class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> sql;
+        private final List<List<Object>> parameters;
+        private int statements;
+
+        private Scope(Scope parent, boolean recordSql) {
+            this.parent = parent;
+            this.sql = recordSql ? new ArrayList<>() : null;
+            this.parameters = recordSql ? new ArrayList<>() : null;
+        }
+
+        private void add(List<QueryInfo> queryInfoList) {
+            statements++;
+            if (sql != null) {
+                sql.add(joinedSql(queryInfoList));
+                parameters.add(boundValues(queryInfoList.get(0)));
+            }
+        }
+
+        // The values of the first (or only) row, in parameter index order
+        private static List<Object> boundValues(QueryInfo query) {
+            if (query.getParametersList().isEmpty()) {
+                return List.of();
+            }
+            return query.getParametersList().get(0).stream()
+                    .map(ParameterSetOperation::getArgs)
+                    .filter(args -> args.length > 1 && args[0] instanceof Integer)
+                    .sorted(Comparator.comparingInt(args -> (Integer) args[0]))
+                    .map(args -> args[1])
+                    .toList();
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        // Only when opened with recordSql
+        public List<String> sql() {
+            return sql != null ? List.copyOf(sql) : List.of();
+        }
+
+        // Bound values per statement, matching sql(); only when opened with recordSql
+        public List<List<Object>> parameters() {
+            return parameters != null ? List.copyOf(parameters) : List.of();
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
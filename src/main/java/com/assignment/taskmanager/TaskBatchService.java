@@ -0,0 +1,156 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskBatchResult; // Generated API Model
+import com.assignment.taskmanager.model.TaskBatchUpdate; // Generated API Model
+import com.assignment.taskmanager.model.TaskRequest; // Generated API Model
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk create/update/delete. Each call is one transaction; statements are grouped into
+// JDBC batches of hibernate.jdbc.batch_size and the persistence context is flushed and
+// cleared at the same interval so it never holds more than one batch of entities.
+@Service
+public class TaskBatchService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional
+    public List<TaskBatchResult> createAll(List<TaskRequest> requests) {
+        List<TaskBatchResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TaskEntity entity = TaskMapper.toEntity(requests.get(i));
+            entityManager.persist(entity); // id and timestamps are assigned here, the INSERT is deferred
+            results.add(result(i, entity.getId(), HttpStatus.CREATED).task(TaskMapper.toDto(entity)));
+            flushEveryBatch(i + 1);
+        }
+        taskOutbox.append(TaskEventEntity.Type.CREATED, results.stream().map(TaskBatchResult::getId).toList());
+        return results;
+    }
+
+    // Items whose values are already stored are reported as updated but not written: Hibernate's dirty
+    // check leaves their row and version alone, and they get no outbox event, so no page cache
+    // generation either. Only changedIds need their cache entries dropped.
+    @Transactional
+    public Updated updateAll(List<TaskBatchUpdate> updates) {
+        // One SELECT ... IN for the whole batch instead of a findById per item
+        Set<Long> ids = updates.stream().map(TaskBatchUpdate::getId).collect(Collectors.toSet());
+        Map<Long, TaskEntity> existing = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        List<TaskBatchResult> results = new ArrayList<>(updates.size());
+        Set<Long> changed = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            TaskBatchUpdate update = updates.get(i);
+            TaskEntity entity = existing.get(update.getId());
+            if (entity == null) {
+                results.add(result(i, update.getId(), HttpStatus.NOT_FOUND));
+                continue;
+            }
+            // Stale item; a row changed by someone else between this read and the flush fails the
+            // whole transaction with an optimistic locking exception instead
+            if (update.getVersion() != null && update.getVersion() != entity.getVersion()) {
+                results.add(result(i, update.getId(), HttpStatus.CONFLICT));
+                continue;
+            }
+            if (!Objects.equals(entity.getTitle(), update.getTitle())
+                    || !Objects.equals(entity.getDescription(), update.getDescription())
+                    || entity.isCompleted() != update.getCompleted()) {
+                entity.setTitle(update.getTitle());
+                entity.setDescription(update.getDescription());
+                entity.setCompleted(update.getCompleted());
+                changed.add(entity.getId());
+            }
+            results.add(result(i, entity.getId(), HttpStatus.OK));
+        }
+        // Flush now so @PreUpdate has run before the DTOs are built
+        entityManager.flush();
+        List<Long> changedIds = new ArrayList<>();
+        for (TaskBatchResult result : results) {
+            if (result.getStatus() == HttpStatus.OK.value()) {
+                result.setTask(TaskMapper.toDto(existing.get(result.getId())));
+                if (changed.remove(result.getId())) {
+                    changedIds.add(result.getId());
+                }
+            }
+        }
+        if (!changedIds.isEmpty()) {
+            taskOutbox.append(TaskEventEntity.Type.UPDATED, changedIds);
+        }
+        return new Updated(results, changedIds);
+    }
+
+    @Transactional
+    public List<TaskBatchResult> setCompletedAll(List<Long> ids, boolean completed) {
+        Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(ids));
+        if (!existing.isEmpty()) {
+            // Single UPDATE ... SET completed = ? WHERE id IN (...) without loading the entities
+            taskRepository.updateCompletedByIdIn(existing, completed, TaskEntity.now());
+            // Also for tasks that already had that state; a consumer just sees their current state again
+            taskOutbox.append(TaskEventEntity.Type.UPDATED, existing);
+        }
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(result(i, id, existing.contains(id) ? HttpStatus.OK : HttpStatus.NOT_FOUND));
+        }
+        return results;
+    }
+
+    @Transactional
+    public List<TaskBatchResult> deleteAll(List<Long> ids) {
+        Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(ids));
+        if (!existing.isEmpty()) {
+            // Single DELETE ... WHERE id IN (...) without loading the entities
+            taskRepository.deleteAllByIdInBatch(existing);
+            taskOutbox.append(TaskEventEntity.Type.DELETED, existing);
+        }
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(result(i, id, existing.contains(id) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+        }
+        return results;
+    }
+
+    public record Updated(List<TaskBatchResult> results, List<Long> changedIds) {
+    }
+
+    private void flushEveryBatch(int processed) {
+        if (processed % batchSize == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private static TaskBatchResult result(int index, Long id, HttpStatus status) {
+        return new TaskBatchResult()
+                .index(index)
+                .id(id)
+                .status(status.value());
+    }
+}
@@ -0,0 +1,89 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task; // Generated API Model
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// Bounded in-process cache of converted Task DTOs for getTaskById. Writers invalidate entries
+// after their statement has committed; an invalidation also drops an in-flight load of the same
+// key, so a load that read the old row is only returned to callers already waiting on it and is
+// never stored. Loads run on the calling thread outside any map lock, so a virtual thread waiting
+// on the database does not pin its carrier.
+// Hit, miss and eviction counters are published as cache.* meters with cache=tasks.
+@Component
+public class TaskCache implements MeterBinder {
+
+    private final AsyncCache<Long, Task> cache;
+
+    public TaskCache(@Value("${taskmanager.cache.tasks.maximum-size:10000}") long maximumSize,
+                     @Value("${taskmanager.cache.tasks.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Read-through lookup; tasks that do not exist are not cached (a null result removes the entry).
+    // Cache.get would run the loader inside ConcurrentHashMap.compute, i.e. in a synchronized block.
+    public Optional<Task> get(Long id, Function<Long, Optional<Task>> loader) {
+        CompletableFuture<Task> cached = cache.getIfPresent(id);
+        if (cached == null) {
+            CompletableFuture<Task> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(id, loading);
+            if (cached == null) {
+                try {
+                    Task task = loader.apply(id).orElse(null);
+                    loading.complete(task);
+                    return Optional.ofNullable(task);
+                } catch (RuntimeException e) {
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return Optional.ofNullable(cached.join());
+    }
+
+    // Cached DTO only if it is fully loaded; never starts or waits for a load
+    public Optional<Task> getIfPresent(Long id) {
+        CompletableFuture<Task> cached = cache.getIfPresent(id);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cached.getNow(null));
+    }
+
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "tasks");
+    }
+}
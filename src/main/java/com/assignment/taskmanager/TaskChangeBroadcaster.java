@@ -0,0 +1,264 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskChange; // Generated API Model
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fan-out of relayed task changes to the server-sent event streams of GET /tasks/changes, so the cost
+// is one message per change and subscriber instead of a page read per poll.
+// Each subscriber has a bounded buffer and its own virtual thread that writes to the client. The relay
+// only offers to buffers, so a slow or stuck client never holds it up; a subscriber whose buffer is
+// full is handled by the overflow policy. A new subscriber, or one that fell behind, is served from
+// the outbox table until it has caught up, and only then from its buffer: once a read comes back
+// short it starts buffering and reads the table again, outside any lock, until that is drained too.
+// The relay hands over committed batches only, so a change is either in the table by then or offered
+// to the buffer, and the sequence check drops what arrives both ways.
+// Published as taskmanager.changes.subscribers and taskmanager.changes.overflows.
+@Component
+public class TaskChangeBroadcaster implements TaskChangeSink, MeterBinder, AutoCloseable {
+
+    // What happens to a subscriber whose buffer is full
+    public enum OverflowPolicy {
+        // Complete its stream; the client reconnects with Last-Event-ID and catches up from the table
+        DISCONNECT,
+        // Drop the buffered changes and serve it from the table at its own pace
+        CATCH_UP
+    }
+
+    // Wakes a sender whose buffer was dropped
+    private static final TaskChange WAKE_UP = new TaskChange();
+
+    private final TaskOutbox taskOutbox;
+    private final int batchSize;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration heartbeat;
+    private final Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong overflows = new AtomicLong();
+
+    public TaskChangeBroadcaster(TaskOutbox taskOutbox,
+                                 @Value("${taskmanager.outbox.batch-size:500}") int batchSize,
+                                 @Value("${taskmanager.changes.buffer-size:1000}") int bufferSize,
+                                 @Value("${taskmanager.changes.overflow:disconnect}") OverflowPolicy overflowPolicy,
+                                 @Value("${taskmanager.changes.heartbeat:15s}") Duration heartbeat,
+                                 @Value("${taskmanager.changes.timeout:30m}") Duration timeout) {
+        this.taskOutbox = taskOutbox;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+    }
+
+    // Changes after since, or only new ones when since is null. Clients reconnect with Last-Event-ID
+    // after the timeout.
+    public SseEmitter subscribe(Long since) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribe(emitter, since);
+        return emitter;
+    }
+
+    void subscribe(SseEmitter emitter, Long since) {
+        long from = since != null ? since : taskOutbox.latestSeq();
+        Subscriber subscriber = new Subscriber(emitter, from);
+        try {
+            // Sent right away so the client sees the response headers before the first change
+            emitter.send(SseEmitter.event().comment("changes after " + from));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        emitter.onTimeout(() -> subscriber.close(true));
+        emitter.onError(e -> subscriber.close(false));
+        emitter.onCompletion(() -> subscriber.close(false));
+        subscribers.add(subscriber);
+        subscriber.start();
+    }
+
+    @Override
+    public void publish(List<TaskChange> changes) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(changes);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    long liveCount() {
+        return subscribers.stream().filter(Subscriber::isLive).count();
+    }
+
+    long overflowCount() {
+        return overflows.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskmanager.changes.subscribers", subscribers, Set::size)
+                .description("Open GET /tasks/changes streams")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.changes.overflows", overflows, AtomicLong::get)
+                .description("Subscribers whose buffer was full")
+                .tag("policy", overflowPolicy.name().toLowerCase())
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.close(true));
+        senders.shutdown();
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskChange> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private long lastSent; // sender thread only
+        private boolean live; // guarded by this
+        private boolean closed; // guarded by this
+        private Future<?> sender; // guarded by this
+
+        Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        synchronized void start() {
+            if (!closed) {
+                sender = senders.submit(this);
+            }
+        }
+
+        // Relay thread; never waits for the client
+        synchronized void offer(List<TaskChange> changes) {
+            if (!live) {
+                return; // Catching up; these changes are in the table as well
+            }
+            for (TaskChange change : changes) {
+                if (!buffer.offer(change)) {
+                    overflows.incrementAndGet();
+                    if (overflowPolicy == OverflowPolicy.CATCH_UP) {
+                        live = false;
+                        buffer.clear();
+                        buffer.offer(WAKE_UP);
+                    } else {
+                        close(true);
+                    }
+                    return;
+                }
+            }
+        }
+
+        // Sender thread: catch up from the table, then drain the buffer
+        @Override
+        public void run() {
+            boolean complete = true;
+            try {
+                while (!isClosed()) {
+                    if (isLive()) {
+                        TaskChange change = buffer.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                        if (change == null) {
+                            // Keeps proxies from dropping an idle stream and finds clients that left
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        } else if (change != WAKE_UP) {
+                            send(List.of(change));
+                        }
+                    } else {
+                        List<TaskChange> page = taskOutbox.changesAfter(lastSent, batchSize);
+                        send(page);
+                        if (page.size() < batchSize) {
+                            goLive();
+                            // What was relayed before the switch is in the table; a CATCH_UP
+                            // overflow meanwhile ends this and the loop above takes over again
+                            do {
+                                page = taskOutbox.changesAfter(lastSent, batchSize);
+                                send(page);
+                            } while (page.size() == batchSize && isLive());
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                complete = false; // Client gone or stream already completed
+            } catch (RuntimeException e) {
+                complete = false;
+                emitter.completeWithError(e);
+            } finally {
+                close(complete);
+            }
+        }
+
+        // Buffering starts here; no database read ever runs under this lock, so the relay's offer()
+        // never waits for one and a sender's virtual thread is not pinned by JDBC
+        private synchronized void goLive() {
+            live = true;
+        }
+
+        private void send(List<TaskChange> changes) throws IOException {
+            for (TaskChange change : changes) {
+                if (change.getSeq() > lastSent) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSeq()))
+                            .data(change, MediaType.APPLICATION_JSON));
+                    lastSent = change.getSeq();
+                }
+            }
+        }
+
+        private synchronized boolean isLive() {
+            return live;
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+
+        // complete is false when the stream has already ended (client gone, container callback)
+        synchronized void close(boolean complete) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            if (sender != null) {
+                sender.cancel(true);
+            }
+            if (complete) {
+                // Not on the calling thread: complete() waits for a send in progress, which may be
+                // stuck on the very client being dropped
+                try {
+                    senders.execute(emitter::complete);
+                } catch (RejectedExecutionException e) {
+                    emitter.complete(); // Shutting down
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskChange; // Generated API Model
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends every change to an NDJSON file (taskmanager.outbox.log-file), one flush per batch, for
+// consumers that tail a log instead of holding an HTTP connection
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.log-file")
+public class TaskChangeLogSink implements TaskChangeSink, AutoCloseable {
+
+    private final ObjectWriter writer;
+    private final BufferedWriter out;
+
+    public TaskChangeLogSink(ObjectMapper objectMapper,
+                             @Value("${taskmanager.outbox.log-file}") Path file) throws IOException {
+        this.writer = objectMapper.writerFor(TaskChange.class);
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<TaskChange> changes) {
+        try {
+            for (TaskChange change : changes) {
+                out.write(writer.writeValueAsString(change));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
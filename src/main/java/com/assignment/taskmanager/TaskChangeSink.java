@@ -0,0 +1,13 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskChange; // Generated API Model
+
+import java.util.List;
+
+// Receives every batch of changes once the relay has committed its numbering, in sequence order.
+// Any bean implementing this is an in-process listener. Calls come from the relay thread, so a slow
+// sink holds up the others; delivery is at most once, while the outbox table keeps the full stream.
+public interface TaskChangeSink {
+
+    void publish(List<TaskChange> changes);
+}
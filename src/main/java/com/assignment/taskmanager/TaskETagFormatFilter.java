@@ -0,0 +1,144 @@
+package com.assignment.taskmanager;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+// A task is the same version in JSON, CBOR and Smile, but not the same bytes, so each format gets
+// its own strong tag: "3", "3+cbor", "3+smile". The controller only deals in versions; for a CBOR or
+// Smile response this filter adds the suffix to the ETag that goes out and takes it off the tags of
+// that format in If-None-Match, dropping those of other formats. If-Match takes a task's tag in any
+// format (TaskETags.versions). Weak tags, those of pages, are the same in every format.
+@Component
+public class TaskETagFormatFilter extends OncePerRequestFilter {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    // In the order Spring MVC prefers them when Accept leaves the choice open
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/tasks");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String format = format(request.getHeader(HttpHeaders.ACCEPT));
+        if (format.isEmpty()) {
+            chain.doFilter(request, response); // JSON keeps the bare version
+            return;
+        }
+        chain.doFilter(new FormatRequest(request, format), new FormatResponse(response, format));
+    }
+
+    // The format the response will be written in: the best quality, a concrete type over a wildcard,
+    // JSON when nothing else is asked for
+    static String format(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return ""; // Rejected by content negotiation anyway
+        }
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestQuality = 0;
+        boolean bestConcrete = false;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            boolean concrete = type.isConcrete();
+            if (quality > bestQuality || (quality == bestQuality && concrete && !bestConcrete)) {
+                for (MediaType candidate : FORMATS) {
+                    if (type.includes(candidate)) {
+                        best = candidate;
+                        bestQuality = quality;
+                        bestConcrete = concrete;
+                        break;
+                    }
+                }
+            }
+        }
+        return best == MediaType.APPLICATION_JSON ? "" : best == SMILE ? "smile" : "cbor";
+    }
+
+    private static final class FormatRequest extends HttpServletRequestWrapper {
+
+        private final String suffix;
+
+        FormatRequest(HttpServletRequest request, String format) {
+            super(request);
+            this.suffix = "+" + format + "\"";
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return super.getHeader(name);
+            }
+            List<String> values = Collections.list(getHeaders(name));
+            return values.isEmpty() ? null : String.join(", ", values);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || values == null) {
+                return values;
+            }
+            List<String> tags = new ArrayList<>();
+            for (String value : Collections.list(values)) {
+                for (String tag : value.split(",")) {
+                    tag = tag.trim();
+                    if (tag.equals("*") || tag.startsWith("W/")) {
+                        tags.add(tag);
+                    } else if (tag.endsWith(suffix)) {
+                        tags.add(tag.substring(0, tag.length() - suffix.length()) + "\"");
+                    }
+                }
+            }
+            return Collections.enumeration(tags);
+        }
+    }
+
+    private static final class FormatResponse extends HttpServletResponseWrapper {
+
+        private final String format;
+
+        FormatResponse(HttpServletResponse response, String format) {
+            super(response);
+            this.format = format;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, HttpHeaders.ETAG.equalsIgnoreCase(name) ? withFormat(value) : value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, HttpHeaders.ETAG.equalsIgnoreCase(name) ? withFormat(value) : value);
+        }
+
+        private String withFormat(String etag) {
+            return etag == null || etag.startsWith("W/") ? etag : TaskETags.inFormat(etag, format);
+        }
+    }
+}
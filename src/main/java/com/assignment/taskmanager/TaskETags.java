@@ -0,0 +1,102 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task; // Generated API Model
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+// Entity tags for conditional requests. A task's tag is its version, a strong tag, so it can be
+// checked against a lookup of that one column, or inside the UPDATE/DELETE itself, without loading
+// or serializing the row. A page's tag is a digest of the (id, version) pairs it contains. It is
+// weak: the same page goes out as JSON, CBOR or Smile, gzipped or not, and Tomcat does not
+// compress a response that carries a strong tag.
+public final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(Task task) {
+        return of(task.getVersion());
+    }
+
+    // The tag of the same task in CBOR or Smile: "3" becomes "3+cbor" (TaskETagFormatFilter)
+    public static String inFormat(String etag, String format) {
+        return etag.substring(0, etag.length() - 1) + "+" + format + "\"";
+    }
+
+    // hasNext is part of the tag because it decides the Link header. Only used with If-None-Match,
+    // which compares weakly, so a 304 still answers a poll for an unchanged page.
+    public static String ofPage(List<Task> tasks, boolean hasNext) {
+        ByteBuffer buffer = ByteBuffer.allocate(tasks.size() * 2 * Long.BYTES + 1);
+        for (Task task : tasks) {
+            buffer.putLong(task.getId());
+            buffer.putLong(task.getVersion() != null ? task.getVersion() : 0);
+        }
+        buffer.put((byte) (hasNext ? 1 : 0));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every Java platform provides SHA-256
+        }
+    }
+
+    // If-None-Match uses the weak comparison, so W/ prefixes are ignored
+    public static boolean noneMatch(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(stripWeak(etag))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The versions an If-Match header accepts, from a task's tag in any format. If-Match uses the
+    // strong comparison, so weak tags (and tags this API never issued) match nothing.
+    public static Set<Long> versions(String ifMatch) {
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                String version = tag.substring(1, tag.length() - 1);
+                if (version.endsWith("+cbor") || version.endsWith("+smile")) {
+                    version = version.substring(0, version.indexOf('+'));
+                }
+                try {
+                    versions.add(Long.parseLong(version));
+                } catch (NumberFormatException e) {
+                    // Not one of ours; cannot match
+                }
+            }
+        }
+        return versions;
+    }
+
+    // The versions a write may still apply to: those If-Match accepts, narrowed by a version in the
+    // request body; null when the write is unconditional, empty when nothing can match
+    public static Set<Long> expectedVersions(Set<Long> ifMatchVersions, Long version) {
+        if (version == null) {
+            return ifMatchVersions;
+        }
+        return ifMatchVersions == null || ifMatchVersions.contains(version) ? Set.of(version) : Set.of();
+    }
+
+    // No header or "*": the write only needs the task to exist, which the write itself checks
+    public static boolean isUnconditional(String ifMatch) {
+        return ifMatch == null || ifMatch.trim().equals("*");
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
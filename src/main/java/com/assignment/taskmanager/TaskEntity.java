@@ -2,30 +2,55 @@ package com.assignment.taskmanager;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Data // Lombok: creates getters, setters, etc. for you
 @Entity // JPA: This is a database table
+@Cacheable // Second-level cache, only active with the l2cache profile (bulk JPQL writes evict the whole region)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
+@Table(indexes = { // One index per ordering of GET /tasks (TaskFilter.sort), each ending in id for keyset paging
+        @Index(name = "idx_task_completed_updated_at", columnList = "completed, updated_at, id"),
+        @Index(name = "idx_task_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_task_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_task_title", columnList = "title, id"),
+        @Index(name = "idx_task_completed_id", columnList = "completed, id"),
+        @Index(name = "idx_task_completed_created_at", columnList = "completed, created_at, id"),
+        @Index(name = "idx_task_completed_title", columnList = "completed, title, id")
+})
 public class TaskEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (a table on MySQL): ids are handed out 50 at a time, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
+    @Column(length = 1000) // maxLength in openapi.yaml
     private String description;
     private boolean completed = false; // Default to false
 
     private java.time.ZonedDateTime createdAt;
     private java.time.ZonedDateTime updatedAt;
 
+    @Version // Optimistic locking: entity updates are checked against and increment this; it is also the ETag
+    private long version;
+
     @PrePersist // Runs before saving for the first time
     protected void onCreate() {
-        this.createdAt = this.updatedAt = ZonedDateTime.now();
+        this.createdAt = this.updatedAt = now();
     }
 
     @PreUpdate // Runs before updating
     protected void onUpdate() {
-        this.updatedAt = ZonedDateTime.now();
+        this.updatedAt = now();
+    }
+
+    // Truncated to the column precision, so the value in memory is the one stored (and gives the same ETag)
+    static ZonedDateTime now() {
+        return ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
\ No newline at end of file
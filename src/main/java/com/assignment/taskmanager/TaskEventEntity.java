@@ -0,0 +1,38 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+// Outbox row: written in the same transaction as the task change it records, numbered later by the
+// relay. Events are keyed by task ID only; the task's state is read when the event is published.
+@Data
+@Entity
+@Table(indexes = { // seq is null until relayed; the same index serves "seq is null" and "seq > ?"
+        @Index(name = "idx_task_event_seq", columnList = "seq", unique = true)
+})
+public class TaskEventEntity {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    @Id
+    // Pooled like task_seq, so the events of a batch write are inserted in JDBC batches too
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_event_seq")
+    @SequenceGenerator(name = "task_event_seq", sequenceName = "task_event_seq", allocationSize = 50)
+    private Long id;
+
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "enum ('CREATED', 'UPDATED', 'DELETED')") // One byte on MySQL, as in the migrations
+    private Type type;
+
+    private ZonedDateTime createdAt;
+
+    // Position in the change stream, assigned in commit order by the relay
+    private Long seq;
+
+    @Version // Two relays can never number the same event
+    private long version;
+}
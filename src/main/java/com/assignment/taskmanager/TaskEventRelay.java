@@ -0,0 +1,82 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskChange; // Generated API Model
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// Drains the outbox in batches: each batch is numbered in its own transaction, and whatever has been
+// numbered since this instance last looked, by it or by the relay of another instance, is then read
+// back and handed to every TaskChangeSink here. Scheduled by TaskOutboxScheduling; tests call relay()
+// directly.
+@Component
+public class TaskEventRelay {
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private List<TaskChangeSink> sinks;
+
+    @Value("${taskmanager.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${taskmanager.outbox.retention:7d}")
+    private Duration retention;
+
+    // Highest sequence number handed to the sinks of this instance
+    private long published = -1;
+
+    // Returns the number of events published
+    public synchronized int relay() {
+        long latest = taskOutbox.latestSeq();
+        if (published < 0 || published > latest) {
+            published = latest; // First run, or a database that was reset underneath
+        }
+        int count = 0;
+        int numbered;
+        do {
+            numbered = taskOutbox.numberNext(batchSize);
+            List<TaskChange> batch;
+            do {
+                batch = taskOutbox.changesAfter(published, batchSize);
+                if (!batch.isEmpty()) {
+                    published = batch.getLast().getSeq();
+                    publish(batch);
+                }
+                count += batch.size();
+            } while (batch.size() == batchSize);
+        } while (numbered == batchSize);
+        return count;
+    }
+
+    // A failing sink does not keep the batch from the others; its error is rethrown for the scheduler to log
+    private void publish(List<TaskChange> batch) {
+        RuntimeException failure = null;
+        for (TaskChangeSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Subscribers asking for changes older than this have to start over from GET /tasks
+    public int purge() {
+        return taskEventRepository.deletePublishedBefore(TaskEntity.now().minus(retention));
+    }
+}
@@ -0,0 +1,51 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEventEntity, Long> {
+
+    // Events the relay has not numbered yet, in the order they were written
+    @Query("select e from TaskEventEntity e where e.seq is null order by e.id")
+    List<TaskEventEntity> findUnpublished(Limit limit);
+
+    @Query("select max(e.seq) from TaskEventEntity e")
+    Optional<Long> findMaxSeq();
+
+    // The last sequence number handed out. It lives in its own row rather than in max(seq), so purging
+    // every event does not start the numbering over.
+    @Query(value = "select last_seq from task_event_relay where id = 1", nativeQuery = true)
+    long findLastSeq();
+
+    // The same row, locked for the numbering transaction; empty while another relay holds it
+    @Query(value = "select last_seq from task_event_relay where id = 1 for update skip locked", nativeQuery = true)
+    Optional<Long> lockLastSeq();
+
+    @Modifying
+    @Query(value = "update task_event_relay set last_seq = :seq where id = 1", nativeQuery = true)
+    int updateLastSeq(@Param("seq") long seq);
+
+    // The change stream after a given sequence number, for subscribers catching up
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select e from TaskEventEntity e where e.seq > :seq order by e.seq")
+    List<TaskEventEntity> findPublishedAfter(@Param("seq") long seq, Limit limit);
+
+    // Single DELETE of relayed events older than the retention period
+    @Transactional
+    @Modifying
+    @Query("delete from TaskEventEntity e where e.seq is not null and e.createdAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") ZonedDateTime cutoff);
+}
@@ -0,0 +1,52 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.assignment.taskmanager.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+public class TaskExporter {
+
+    // Flush to the client every N rows so it sees progress without a syscall per task
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Writes every task as one JSON line. Rows are read as TaskView projections, which the
+    // persistence context never holds, so memory stays flat regardless of table size.
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Task.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        generator.setRootValueSeparator(null);
+
+        try (Stream<TaskView> tasks = taskRepository.streamAllViews()) {
+            Iterator<TaskView> iterator = tasks.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, TaskMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,124 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Optional filters of GET /tasks. Every predicate is backed by one of the indexes declared on
+// TaskEntity, so a filtered page never needs a full scan. The page is ordered along that index as
+// well (sort()), so it is read in order and never sorted: by completed when that is filtered, then by
+// the column a range or prefix narrows, then by ID.
+record TaskFilter(Boolean completed,
+                  ZonedDateTime createdAfter,
+                  ZonedDateTime createdBefore,
+                  ZonedDateTime updatedAfter,
+                  ZonedDateTime updatedBefore,
+                  String titlePrefix) {
+
+    Specification<TaskEntity> toSpecification() {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (completed != null) {
+                predicates.add(cb.equal(root.get("completed"), completed));
+            }
+            if (createdAfter != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<ZonedDateTime>get("createdAt"), createdAfter));
+            }
+            if (createdBefore != null) {
+                predicates.add(cb.lessThan(root.<ZonedDateTime>get("createdAt"), createdBefore));
+            }
+            if (updatedAfter != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<ZonedDateTime>get("updatedAt"), updatedAfter));
+            }
+            if (updatedBefore != null) {
+                predicates.add(cb.lessThan(root.<ZonedDateTime>get("updatedAt"), updatedBefore));
+            }
+            if (titlePrefix != null) {
+                // Prefix LIKE can use the title index; wildcards in the input are matched literally
+                predicates.add(cb.like(root.<String>get("title"), escapeLike(titlePrefix) + "%", '\\'));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // The column the page is ordered by before the ID: an updated range, else a created range, else
+    // the title prefix, else none (the ID alone)
+    String sortKey() {
+        if (updatedAfter != null || updatedBefore != null) {
+            return "updatedAt";
+        }
+        if (createdAfter != null || createdBefore != null) {
+            return "createdAt";
+        }
+        return titlePrefix != null ? "title" : "id";
+    }
+
+    // completed is equal on every row, but leading with it lets the (completed, ...) index deliver the order
+    Sort sort(boolean descending) {
+        List<String> properties = new ArrayList<>();
+        if (completed != null) {
+            properties.add("completed");
+        }
+        if (!sortKey().equals("id")) {
+            properties.add(sortKey());
+        }
+        properties.add("id");
+        return Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, properties.toArray(String[]::new));
+    }
+
+    // Keyset condition past the last row of a page: its ID, and its sort key value as sent in afterKey
+    // (ignored when the order is by ID alone). Throws IllegalArgumentException or
+    // DateTimeParseException when afterKey is missing or malformed.
+    Specification<TaskEntity> after(Long after, String afterKey, boolean descending) {
+        String key = sortKey();
+        if (key.equals("id")) {
+            return idAfter(after, descending);
+        }
+        if (afterKey == null) {
+            throw new IllegalArgumentException("afterKey is required with after when ordered by " + key);
+        }
+        return key.equals("title")
+                ? keyAfter(key, afterKey, after, descending)
+                : keyAfter(key, OffsetDateTime.parse(afterKey).toZonedDateTime(), after, descending);
+    }
+
+    // The afterKey of a page ending with this task; null when the order is by ID alone
+    String keyOf(TaskView task) {
+        return switch (sortKey()) {
+            case "updatedAt" -> task.updatedAt().toOffsetDateTime().toString();
+            case "createdAt" -> task.createdAt().toOffsetDateTime().toString();
+            case "title" -> task.title();
+            default -> null;
+        };
+    }
+
+    // Keyset condition on the ID in the direction of the sort
+    static Specification<TaskEntity> idAfter(Long after, boolean descending) {
+        return (root, query, cb) -> descending
+                ? cb.lessThan(root.<Long>get("id"), after)
+                : cb.greaterThan(root.<Long>get("id"), after);
+    }
+
+    // key past the value, or equal to it and the ID past the last one. The first term bounds the index
+    // range; the second skips the rows of the last key that were already returned.
+    private static <Y extends Comparable<? super Y>> Specification<TaskEntity> keyAfter(
+            String key, Y value, Long after, boolean descending) {
+        return (root, query, cb) -> {
+            Path<Y> column = root.get(key);
+            Path<Long> id = root.get("id");
+            return descending
+                    ? cb.and(cb.lessThanOrEqualTo(column, value), cb.or(cb.lessThan(column, value), cb.lessThan(id, after)))
+                    : cb.and(cb.greaterThanOrEqualTo(column, value), cb.or(cb.greaterThan(column, value), cb.greaterThan(id, after)));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,204 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Idempotency-Key for the create endpoints. The first request with a key runs the create and inserts
+// the key with its response in the same transaction; later ones get that response replayed (with
+// Idempotency-Replayed: true) and create nothing. A key reused with a different body gets 422.
+// Hot keys are answered from an in-process cache (bounded by response bytes, expiring after the
+// retention period), and concurrent requests with the same key on this instance wait for the first
+// one instead of racing it. A new key costs no lookup: the table is only read when the insert of
+// the key collides with one another instance has committed, and the losing transaction, tasks
+// included, is rolled back.
+// Hit and miss counters are published as cache.* meters with cache=idempotency.
+@Component
+public class TaskIdempotency implements MeterBinder {
+
+    static final String REPLAYED = "Idempotency-Replayed";
+
+    // Tries when the colliding key is not visible yet, e.g. a database that fails the insert
+    // without waiting for the other transaction
+    private static final int MAX_ATTEMPTS = 20;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactions;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final AsyncCache<String, StoredResponse> cache;
+
+    public TaskIdempotency(IdempotencyKeyRepository idempotencyKeyRepository,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${taskmanager.idempotency.retention:24h}") Duration retention,
+                           @Value("${taskmanager.idempotency.cache.maximum-size:64MB}") DataSize maximumSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, StoredResponse response) -> key.length() + response.body().length())
+                .expireAfterWrite(retention)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Runs create at most once per operation and key; its response must have a JSON body of the given type
+    public <T> ResponseEntity<T> execute(String operation, String key, Object request, TypeReference<T> type,
+                                         Supplier<ResponseEntity<T>> create) {
+        String id = operation + ":" + key;
+        String requestHash = hash(request);
+        for (int attempt = 1; ; attempt++) {
+            CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = cache.asMap().putIfAbsent(id, running);
+            if (first != null) {
+                StoredResponse stored;
+                try {
+                    stored = first.join();
+                } catch (CompletionException e) {
+                    continue; // The first one failed and created nothing; this one may try
+                }
+                return replay(stored, requestHash, type);
+            }
+            try {
+                Created<T> created = transactions.execute(status -> {
+                    ResponseEntity<T> response = create.get();
+                    StoredResponse stored = store(response, requestHash);
+                    try {
+                        idempotencyKeyRepository.insert(id, requestHash, stored.status(), stored.etag(), stored.body(),
+                                TaskEntity.now());
+                    } catch (DataIntegrityViolationException e) {
+                        throw new KeyTaken(e);
+                    }
+                    return new Created<>(response, stored);
+                });
+                // Only now: waiters must not see a response whose tasks could still be rolled back
+                running.complete(created.stored());
+                return created.response();
+            } catch (KeyTaken e) {
+                // Another instance committed this key first; this transaction created nothing
+                Optional<StoredResponse> stored = committed(id);
+                if (stored.isPresent()) {
+                    running.complete(stored.get());
+                    return replay(stored.get(), requestHash, type);
+                }
+                fail(id, running, e);
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw (DataIntegrityViolationException) e.getCause();
+                }
+                sleep();
+            } catch (RuntimeException e) {
+                fail(id, running, e);
+                throw e;
+            }
+        }
+    }
+
+    // Keys older than the retention period no longer protect against duplicates
+    public int purge() {
+        return idempotencyKeyRepository.deleteCreatedBefore(TaskEntity.now().minus(retention));
+    }
+
+    private Optional<StoredResponse> committed(String id) {
+        return idempotencyKeyRepository.findById(id)
+                .map(row -> new StoredResponse(row.getRequestHash(), row.getStatus(), row.getEtag(), row.getBody()));
+    }
+
+    // Waiters on a failed attempt try again themselves
+    private void fail(String id, CompletableFuture<StoredResponse> running, RuntimeException e) {
+        cache.asMap().remove(id, running);
+        running.completeExceptionally(e);
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, TypeReference<T> type) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        try {
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status()).header(REPLAYED, "true");
+            if (stored.etag() != null) {
+                response.eTag(stored.etag());
+            }
+            // Timestamps keep the offset they were written with, so the body is the one first sent
+            T body = objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type))
+                    .without(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                    .readValue(stored.body());
+            return response.body(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StoredResponse store(ResponseEntity<?> response, String requestHash) {
+        try {
+            return new StoredResponse(requestHash, response.getStatusCode().value(), response.getHeaders().getETag(),
+                    objectMapper.writeValueAsString(response.getBody()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every Java platform provides SHA-256
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "idempotency");
+    }
+
+    private record StoredResponse(String requestHash, int status, String etag, String body) {
+    }
+
+    // The key insert collided; rolls back the tasks created with it
+    private static class KeyTaken extends RuntimeException {
+        KeyTaken(DataIntegrityViolationException cause) {
+            super(cause);
+        }
+    }
+
+    private record Created<T>(ResponseEntity<T> response, StoredResponse stored) {
+    }
+}
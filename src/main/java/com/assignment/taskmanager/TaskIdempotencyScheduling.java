@@ -0,0 +1,23 @@
+package com.assignment.taskmanager;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Deletes expired idempotency keys in the background; switched off with
+// taskmanager.idempotency.purge.enabled=false
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(name = "taskmanager.idempotency.purge.enabled", matchIfMissing = true)
+public class TaskIdempotencyScheduling {
+
+    @Autowired
+    private TaskIdempotency taskIdempotency;
+
+    @Scheduled(fixedDelayString = "${taskmanager.idempotency.purge-interval:PT1H}")
+    public void purge() {
+        taskIdempotency.purge();
+    }
+}
@@ -0,0 +1,52 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task; // Generated API Model
+import com.assignment.taskmanager.model.TaskRequest; // Generated API Model
+
+// Mapping between the JPA entity and the generated API models, shared by every read and write path
+final class TaskMapper {
+
+    private TaskMapper() {
+    }
+
+    static Task toDto(TaskEntity entity) {
+        Task dto = new Task();
+        dto.setId(entity.getId());
+        dto.setTitle(entity.getTitle());
+        dto.setDescription(entity.getDescription());
+        dto.setCompleted(entity.isCompleted());
+        // The model uses OffsetDateTime, so we need to convert
+        if (entity.getCreatedAt() != null) {
+            dto.setCreatedAt(entity.getCreatedAt().toOffsetDateTime());
+        }
+        if (entity.getUpdatedAt() != null) {
+            dto.setUpdatedAt(entity.getUpdatedAt().toOffsetDateTime());
+        }
+        dto.setVersion(entity.getVersion());
+        return dto;
+    }
+
+    static Task toDto(TaskView view) {
+        Task dto = new Task();
+        dto.setId(view.id());
+        dto.setTitle(view.title());
+        dto.setDescription(view.description());
+        dto.setCompleted(view.completed());
+        if (view.createdAt() != null) {
+            dto.setCreatedAt(view.createdAt().toOffsetDateTime());
+        }
+        if (view.updatedAt() != null) {
+            dto.setUpdatedAt(view.updatedAt().toOffsetDateTime());
+        }
+        dto.setVersion(view.version());
+        return dto;
+    }
+
+    static TaskEntity toEntity(TaskRequest dto) {
+        TaskEntity entity = new TaskEntity();
+        entity.setTitle(dto.getTitle());
+        entity.setDescription(dto.getDescription());
+        entity.setCompleted(dto.getCompleted());
+        return entity;
+    }
+}
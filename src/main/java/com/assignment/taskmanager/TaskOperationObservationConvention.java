@@ -0,0 +1,27 @@
+package com.assignment.taskmanager;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Adds the TasksApi operation that served a request (createTask, getTaskById, ...) to the
+// http.server.requests timers, next to the default uri, method and status tags
+@Component
+public class TaskOperationObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of("operation", operation(context.getCarrier())));
+    }
+
+    // "none" for requests no controller method handled (e.g. 404s, actuator)
+    static String operation(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod method ? method.getMethod().getName() : "none";
+    }
+}
@@ -0,0 +1,123 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task; // Generated API Model
+import com.assignment.taskmanager.model.TaskChange; // Generated API Model
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Transactional outbox for task changes. Writers append one event row per changed task inside their
+// own transaction, so an event exists exactly when its change was committed; TaskEventRelay then
+// numbers and publishes the rows. Consumers follow the numbered stream instead of polling GET /tasks.
+@Component
+public class TaskOutbox {
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Joins the caller's transaction; an event without the write it records must not be possible.
+    // TasksChanged reaches @TransactionalEventListeners once the write has committed.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TaskEventEntity.Type type, Collection<Long> taskIds) {
+        ZonedDateTime now = TaskEntity.now();
+        taskEventRepository.saveAll(taskIds.stream().map(id -> event(type, id, now)).toList());
+        eventPublisher.publishEvent(new TasksChanged(type, taskIds));
+    }
+
+    // A single-task write and its event in one transaction; no event when the write matched no row
+    @Transactional
+    public int record(TaskEventEntity.Type type, Long taskId, IntSupplier write) {
+        int rows = write.getAsInt();
+        if (rows > 0) {
+            append(type, List.of(taskId));
+        }
+        return rows;
+    }
+
+    @Transactional
+    public TaskEntity recordCreate(Supplier<TaskEntity> save) {
+        TaskEntity saved = save.get();
+        append(TaskEventEntity.Type.CREATED, List.of(saved.getId()));
+        return saved;
+    }
+
+    // Numbers the oldest unnumbered events after the last sequence number handed out, holding the
+    // counter row until commit, so numbers become visible in order and a subscriber reading "seq > n"
+    // never misses a late commit. Returns how many were numbered, none while another relay holds the row.
+    @Transactional
+    public int numberNext(int limit) {
+        Optional<Long> lastSeq = taskEventRepository.lockLastSeq();
+        if (lastSeq.isEmpty()) {
+            return 0;
+        }
+        List<TaskEventEntity> events = taskEventRepository.findUnpublished(Limit.of(limit));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long seq = lastSeq.get();
+        for (TaskEventEntity event : events) {
+            event.setSeq(++seq);
+        }
+        taskEventRepository.flush(); // JDBC-batched UPDATEs, each checked against the event's version
+        taskEventRepository.updateLastSeq(seq);
+        return events.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskChange> changesAfter(long seq, int limit) {
+        return toChanges(taskEventRepository.findPublishedAfter(seq, Limit.of(limit)));
+    }
+
+    public long latestSeq() {
+        return taskEventRepository.findLastSeq();
+    }
+
+    // Events carry the task as it is now (none once deleted), read with one query per batch. A
+    // consumer that sees several events for a task gets its latest state with each of them.
+    private List<TaskChange> toChanges(List<TaskEventEntity> events) {
+        Set<Long> ids = events.stream()
+                .filter(event -> event.getType() != TaskEventEntity.Type.DELETED)
+                .map(TaskEventEntity::getTaskId)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = ids.isEmpty() ? Map.of() : taskRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskView::id, TaskMapper::toDto));
+        return events.stream()
+                .map(event -> new TaskChange()
+                        .seq(event.getSeq())
+                        .type(TaskChange.TypeEnum.fromValue(event.getType().name()))
+                        .taskId(event.getTaskId())
+                        .occurredAt(event.getCreatedAt().toOffsetDateTime())
+                        .task(event.getType() != TaskEventEntity.Type.DELETED ? tasks.get(event.getTaskId()) : null))
+                .toList();
+    }
+
+    public record TasksChanged(TaskEventEntity.Type type, Collection<Long> taskIds) {
+    }
+
+    private static TaskEventEntity event(TaskEventEntity.Type type, Long taskId, ZonedDateTime now) {
+        TaskEventEntity event = new TaskEventEntity();
+        event.setType(type);
+        event.setTaskId(taskId);
+        event.setCreatedAt(now);
+        return event;
+    }
+}
@@ -0,0 +1,30 @@
+package com.assignment.taskmanager;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Runs the outbox relay in the background on every instance unless taskmanager.outbox.relay.enabled=false.
+// The relays take turns on the counter row (TaskOutbox.numberNext), one skipping a round while another
+// numbers, and each follows the numbered events for the subscribers it serves.
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(name = "taskmanager.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxScheduling {
+
+    @Autowired
+    private TaskEventRelay taskEventRelay;
+
+    // Milliseconds between the end of one drain and the start of the next
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.relay-interval:100}")
+    public void relay() {
+        taskEventRelay.relay();
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.purge-interval:PT1H}")
+    public void purge() {
+        taskEventRelay.purge();
+    }
+}
@@ -0,0 +1,90 @@
+package com.assignment.taskmanager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized GET /tasks pages, plain and gzipped, so a poller asking for an unchanged page gets a
+// byte copy instead of a query and a serialization (TaskPageCacheFilter). Entries are keyed by the
+// query string, the Accept header and a generation that moves on after every committed task write
+// (TaskOutbox publishes TasksChanged in each writing transaction), so one write retires every page.
+// The generation is per instance: writes made through other instances only show once entries
+// expire, hence the short expire-after-write. Off unless taskmanager.cache.pages.enabled=true.
+// Hit and miss counters are published as cache.* meters with cache=pages.
+@Component
+@ConditionalOnProperty(name = "taskmanager.cache.pages.enabled", havingValue = "true")
+public class TaskPageCache implements MeterBinder {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Key, Page> cache;
+    private final long compressFrom;
+
+    public TaskPageCache(@Value("${taskmanager.cache.pages.maximum-size:32MB}") DataSize maximumSize,
+                         @Value("${taskmanager.cache.pages.expire-after-write:5s}") Duration expireAfterWrite,
+                         @Value("${server.compression.min-response-size:2KB}") DataSize compressFrom) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Key key, Page page) -> page.body().length + (page.gzip() != null ? page.gzip().length : 0))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.compressFrom = compressFrom.toBytes();
+    }
+
+    // Read before the page is queried: a write committed in between retires what is stored under it
+    public long generation() {
+        return generation.get();
+    }
+
+    public Page get(String query, String accept) {
+        return cache.getIfPresent(new Key(generation.get(), query, accept));
+    }
+
+    public void put(long generation, String query, String accept, String contentType, String etag, String link,
+                    byte[] body) {
+        byte[] gzip = body.length >= compressFrom ? gzip(body) : null;
+        cache.put(new Key(generation, query, accept), new Page(contentType, etag, link, body, gzip));
+    }
+
+    @TransactionalEventListener
+    public void onTasksChanged(TaskOutbox.TasksChanged changed) {
+        generation.incrementAndGet();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by in-memory streams
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "pages");
+    }
+
+    // null query or accept: none was sent
+    private record Key(long generation, String query, String accept) {
+    }
+
+    // gzip is null for pages below server.compression.min-response-size
+    public record Page(String contentType, String etag, String link, byte[] body, byte[] gzip) {
+    }
+}
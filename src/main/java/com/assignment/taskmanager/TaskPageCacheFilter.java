@@ -0,0 +1,92 @@
+package com.assignment.taskmanager;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+// GET /tasks through TaskPageCache. A hit is answered here: 304 for a matching If-None-Match,
+// otherwise the stored bytes, gzipped when the client accepts it (Tomcat leaves a response that
+// already has a Content-Encoding alone). A miss runs the controller and stores its 200 response.
+@Component
+@ConditionalOnProperty(name = "taskmanager.cache.pages.enabled", havingValue = "true")
+public class TaskPageCacheFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private TaskPageCache taskPageCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !"/tasks".equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        TaskPageCache.Page page = taskPageCache.get(query, accept);
+        if (page != null) {
+            serve(page, request, response);
+            return;
+        }
+        long generation = taskPageCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpStatus.OK.value()) {
+            taskPageCache.put(generation, query, accept, wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.ETAG), wrapper.getHeader(HttpHeaders.LINK),
+                    wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void serve(TaskPageCache.Page page, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.ETAG, page.etag());
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && page.etag() != null && !TaskETags.noneMatch(ifNoneMatch, page.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        if (page.link() != null) {
+            response.setHeader(HttpHeaders.LINK, page.link());
+        }
+        response.setContentType(page.contentType());
+        byte[] body = page.body();
+        if (page.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = page.gzip();
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // gzip listed without q=0
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.assignment.taskmanager;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+// Partial updates, whose SET clause depends on which fields are given and so cannot be one @Query
+public interface TaskPatchRepository {
+
+    // Single UPDATE of the non-null fields plus updatedAt and version, no entity load; when versions is
+    // not null the row must still have one of them. Returns the number of rows matched.
+    int patchTaskById(Long id, String title, String description, Boolean completed,
+                      ZonedDateTime updatedAt, Collection<Long> versions);
+}
@@ -0,0 +1,54 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+// Fragment implementation picked up by TaskRepository through the Impl suffix. Only the given columns
+// are in the UPDATE, so completing a task does not rewrite its title and description; @DynamicUpdate
+// would do the same for entity writes but give the JDBC-batched bulk updates a different statement per row.
+class TaskPatchRepositoryImpl implements TaskPatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patchTaskById(Long id, String title, String description, Boolean completed,
+                             ZonedDateTime updatedAt, Collection<Long> versions) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<TaskEntity> update = cb.createCriteriaUpdate(TaskEntity.class);
+        Root<TaskEntity> root = update.from(TaskEntity.class);
+        if (title != null) {
+            update.set(root.<String>get("title"), title);
+        }
+        if (description != null) {
+            update.set(root.<String>get("description"), description);
+        }
+        if (completed != null) {
+            update.set(root.<Boolean>get("completed"), completed);
+        }
+        // Bulk updates bypass @PreUpdate and @Version, as in TaskRepository.updateTaskById
+        update.set(root.<ZonedDateTime>get("updatedAt"), updatedAt);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        Predicate predicate = cb.equal(root.get("id"), id);
+        if (versions != null) {
+            predicate = cb.and(predicate, root.get("version").in(versions));
+        }
+        update.where(predicate);
+
+        // Same as @Modifying(flushAutomatically = true, clearAutomatically = true) on the @Query updates
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
@@ -1,10 +1,108 @@
 package com.assignment.taskmanager;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, JpaSpecificationExecutor<TaskEntity>,
+        TaskViewRepository, TaskPatchRepository, TaskSearchRepository {
     // This interface gives you all the database methods for free:
     // save(), findById(), findAll(), deleteById(), etc.
-}
\ No newline at end of file
+    // Read endpoints use the TaskView projections below; entities are loaded only to be written.
+
+    // One task as a projection, for GET /tasks/{id}
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.assignment.taskmanager.TaskView(t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version) "
+            + "from TaskEntity t where t.id = :id")
+    Optional<TaskView> findViewById(@Param("id") Long id);
+
+    // Several tasks as projections in one query, for the change events of an outbox batch
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.assignment.taskmanager.TaskView(t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version) "
+            + "from TaskEntity t where t.id in :ids")
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Only the version (the ETag), for conditional requests that may not need the row
+    @Transactional(readOnly = true)
+    @Query("select t.version from TaskEntity t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Cursor over every task for streaming exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.assignment.taskmanager.TaskView(t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version) "
+            + "from TaskEntity t order by t.id")
+    Stream<TaskView> streamAllViews();
+
+    // Which of the given IDs exist, read from the primary key index only
+    @Query("select t.id from TaskEntity t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Single DELETE by primary key, no entity load; returns the number of rows removed (0 or 1)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TaskEntity t where t.id = :id")
+    int deleteTaskById(@Param("id") Long id);
+
+    // Single UPDATE of the writable columns, no entity load or dirty check; returns the number of rows matched.
+    // @PreUpdate and @Version do not apply to JPQL updates, so the caller supplies updatedAt and the
+    // version is incremented here.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.title = :title, t.description = :description, t.completed = :completed, "
+            + "t.updatedAt = :updatedAt, t.version = t.version + 1 where t.id = :id")
+    int updateTaskById(@Param("id") Long id,
+                       @Param("title") String title,
+                       @Param("description") String description,
+                       @Param("completed") boolean completed,
+                       @Param("updatedAt") ZonedDateTime updatedAt);
+
+    // Conditional variants for If-Match and versioned writes: they only match while the row still has
+    // one of the expected versions, so a concurrent write turns them into 0 rows instead of a lost update
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.title = :title, t.description = :description, t.completed = :completed, "
+            + "t.updatedAt = :updatedAt, t.version = t.version + 1 where t.id = :id and t.version in :versions")
+    int updateTaskByIdAndVersionIn(@Param("id") Long id,
+                                   @Param("title") String title,
+                                   @Param("description") String description,
+                                   @Param("completed") boolean completed,
+                                   @Param("updatedAt") ZonedDateTime updatedAt,
+                                   @Param("versions") Collection<Long> versions);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TaskEntity t where t.id = :id and t.version in :versions")
+    int deleteTaskByIdAndVersionIn(@Param("id") Long id, @Param("versions") Collection<Long> versions);
+
+    // One UPDATE for a checklist: rows already in the requested state are left alone and keep their version
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.completed = :completed, t.updatedAt = :updatedAt, t.version = t.version + 1 "
+            + "where t.id in :ids and t.completed <> :completed")
+    int updateCompletedByIdIn(@Param("ids") Collection<Long> ids,
+                              @Param("completed") boolean completed,
+                              @Param("updatedAt") ZonedDateTime updatedAt);
+
+    // Served from the Hibernate query cache when the l2cache profile is active
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long countByCompleted(boolean completed);
+}
@@ -0,0 +1,25 @@
+package com.assignment.taskmanager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Full-text search over title and description, for GET /tasks/search
+public interface TaskSearchRepository {
+
+    // Words beyond this are dropped; every one of them is a required term
+    int MAX_TERMS = 10;
+
+    // Tasks containing every term of the query (or a word starting with it), most relevant first
+    List<TaskView> search(String query, int offset, int limit);
+
+    // The words of a query, lower-cased and without punctuation, which also keeps MySQL's boolean
+    // operators and LIKE wildcards out of the search
+    static List<String> terms(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+}
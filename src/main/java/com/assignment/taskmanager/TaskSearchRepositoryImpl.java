@@ -0,0 +1,127 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Fragment implementation picked up by TaskRepository through the Impl suffix.
+// On MySQL the FULLTEXT index on (title, description), created by the migrations, finds and ranks
+// the matches: one native query for a page of IDs by relevance, then one for their rows. Other
+// databases (H2 in tests and load tests) get the same semantics from LIKE conditions, which scan
+// the table and rank by how many terms appear in the title and in the description.
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    // Boolean mode: every +term is required, term* also matches longer words; the relevance is
+    // computed from the index once per row and used for the order as well
+    private static final String MYSQL_SEARCH = "select id from task_entity "
+            + "where match(title, description) against (:query in boolean mode) "
+            + "order by match(title, description) against (:query in boolean mode) desc, id "
+            + "limit :limit offset :offset";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskView> search(String query, int offset, int limit) {
+        List<String> terms = TaskSearchRepository.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return isMySql(entityManager.getEntityManagerFactory())
+                ? searchFullText(terms, offset, limit)
+                : searchLike(terms, offset, limit);
+    }
+
+    private static boolean isMySql(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    private List<TaskView> searchFullText(List<String> terms, int offset, int limit) {
+        String booleanQuery = terms.stream().map(term -> "+" + term + "*").collect(Collectors.joining(" "));
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager.createNativeQuery(MYSQL_SEARCH)
+                .setParameter("query", booleanQuery)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ranked = ids.stream().map(Number::longValue).toList();
+        Map<Long, TaskView> views = entityManager.createQuery(
+                        "select new com.assignment.taskmanager.TaskView(t.id, t.title, t.description, t.completed, "
+                                + "t.createdAt, t.updatedAt, t.version) from TaskEntity t where t.id in :ids", TaskView.class)
+                .setParameter("ids", ranked)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .collect(Collectors.toMap(TaskView::id, Function.identity()));
+        // Back into relevance order; a task deleted in between is left out
+        return ranked.stream().map(views::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<TaskView> searchLike(List<String> terms, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        query.select(cb.construct(TaskView.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("completed"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("version")));
+
+        Expression<String> title = words(cb, root.get("title"));
+        Expression<String> description = words(cb, root.get("description"));
+        List<Predicate> predicates = new ArrayList<>();
+        Expression<Integer> score = cb.literal(0);
+        for (String term : terms) {
+            Predicate inTitle = startsWord(cb, title, term);
+            Predicate inDescription = startsWord(cb, description, term);
+            predicates.add(cb.or(inTitle, inDescription));
+            // A term in the title counts twice, like a short field weighs more in a full-text ranking
+            score = cb.sum(score, cb.<Integer>selectCase().when(inTitle, 2).otherwise(0));
+            score = cb.sum(score, cb.<Integer>selectCase().when(inDescription, 1).otherwise(0));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(score), cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    // The field lower-cased, with every run of characters other than letters and digits (punctuation,
+    // tabs, line breaks) turned into one space and a space in front, so that every word, as terms()
+    // splits them and InnoDB tokenizes them, follows a space
+    private static Expression<String> words(CriteriaBuilder cb, Expression<String> field) {
+        Expression<String> separated = cb.function("REGEXP_REPLACE", String.class, cb.lower(field),
+                cb.literal("[^\\p{L}\\p{N}]+"), cb.literal(" "));
+        return cb.concat(" ", separated);
+    }
+
+    // The field has a word beginning with the term; terms are letters and digits only, so they need no escaping
+    private static Predicate startsWord(CriteriaBuilder cb, Expression<String> words, String term) {
+        return cb.like(words, "% " + term + "%");
+    }
+}
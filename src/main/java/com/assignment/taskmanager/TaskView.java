@@ -0,0 +1,14 @@
+package com.assignment.taskmanager;
+
+import java.time.ZonedDateTime;
+
+// Read-only projection of a task row, built by JPQL/Criteria constructor expressions. Unlike
+// TaskEntity it is not managed: no persistence-context entry, no dirty-checking snapshot.
+public record TaskView(Long id,
+                       String title,
+                       String description,
+                       boolean completed,
+                       ZonedDateTime createdAt,
+                       ZonedDateTime updatedAt,
+                       long version) {
+}
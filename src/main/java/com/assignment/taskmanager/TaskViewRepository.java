@@ -0,0 +1,13 @@
+package com.assignment.taskmanager;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Projection queries that need a Specification, which derived and @Query methods cannot take
+public interface TaskViewRepository {
+
+    // One page of tasks matching the specification (filters plus keyset condition), without a COUNT query
+    List<TaskView> findViewPage(Specification<TaskEntity> specification, Sort sort, int limit);
+}
@@ -0,0 +1,249 @@
+package com.assignment.taskmanager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind ingestion for POST /tasks with Prefer: respond-async. A task gets its ID from the same
+// pooled generator as TaskEntity and is queued; the request returns without touching the database
+// (apart from the odd sequence fetch). One writer thread drains the queue into multi-row INSERTs, one
+// transaction per batch of batch-size tasks or after max-delay, whichever comes first, and appends
+// the CREATED events in that transaction. A full queue rejects the task (429 for the client), and
+// close() stops taking tasks and waits for the queue to drain.
+// Rows are written with JDBC, not through Hibernate: timestamps are bound in UTC as Hibernate stores
+// a ZonedDateTime on MySQL, and cached queries over tasks are evicted after each batch.
+// Published as taskmanager.ingest.queue.depth, taskmanager.ingest.flush (latency),
+// taskmanager.ingest.batch.size, taskmanager.ingest.rejected and taskmanager.ingest.failed.
+@Component
+public class TaskWriteBehind implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    private static final String INSERT = "insert into task_entity "
+            + "(id, title, description, completed, created_at, updated_at, version) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator idGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactions;
+    private final TaskOutbox taskOutbox;
+    private final BlockingQueue<TaskEntity> queue;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final int maxAttempts;
+    private final Duration shutdownTimeout;
+    private final Thread writer;
+    private volatile boolean closed; // set under this, so no task is queued after the writer's last look
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public TaskWriteBehind(EntityManagerFactory entityManagerFactory,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           TaskOutbox taskOutbox,
+                           MeterRegistry meterRegistry,
+                           @Value("${taskmanager.ingest.queue-capacity:10000}") int queueCapacity,
+                           @Value("${taskmanager.ingest.batch-size:500}") int batchSize,
+                           @Value("${taskmanager.ingest.max-delay:50ms}") Duration maxDelay,
+                           @Value("${taskmanager.ingest.max-attempts:3}") int maxAttempts,
+                           @Value("${taskmanager.ingest.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.idGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(TaskEntity.class).getGenerator();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.taskOutbox = taskOutbox;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.maxAttempts = maxAttempts;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("taskmanager.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Tasks accepted with Prefer: respond-async and not yet written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("taskmanager.ingest.flush")
+                .description("Time to write one batch of queued tasks, including retries")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("taskmanager.ingest.batch.size")
+                .description("Tasks written per batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("taskmanager.ingest.rejected")
+                .description("Tasks turned away because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("taskmanager.ingest.failed")
+                .description("Accepted tasks that could not be written")
+                .register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("task-write-behind").start(this::run);
+    }
+
+    // The task with its ID and timestamps, or null when the queue is full or shutting down
+    public TaskEntity enqueue(TaskEntity task) {
+        if (closed || queue.remainingCapacity() == 0) {
+            rejected.increment(); // Saves an ID
+            return null;
+        }
+        task.setId(nextId());
+        task.setCreatedAt(TaskEntity.now());
+        task.setUpdatedAt(task.getCreatedAt());
+        task.setVersion(0);
+        synchronized (this) {
+            if (!closed && queue.offer(task)) {
+                return task;
+            }
+        }
+        rejected.increment();
+        return null;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    // The generator's pooled optimizer is shared with every JPA insert, so IDs never collide; the
+    // stateless session only borrows a connection when a new block has to be fetched
+    private Long nextId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) idGenerator.generate((SharedSessionContractImplementor) session, null);
+        }
+    }
+
+    private void run() {
+        List<TaskEntity> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                TaskEntity first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Fill the batch until it is full or the first task has waited max-delay; waits are
+                // short so close() does not have to sit out the delay
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize && !closed) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    TaskEntity next = queue.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // close() gave up waiting; whatever is left is lost
+            failed.increment(batch.size() + queue.size());
+            log.error("Write-behind stopped with {} tasks not written", batch.size() + queue.size());
+        }
+    }
+
+    private void flush(List<TaskEntity> batch) throws InterruptedException {
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Could not write {} queued tasks as one batch, writing them one by one", batch.size(), e);
+                    insertOneByOne(batch);
+                    break;
+                }
+                Thread.sleep(100L * attempt); // e.g. a failover or a full connection pool
+            }
+        }
+        sessionFactory.getCache().evictQueryRegions();
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+    }
+
+    // The tasks and their CREATED events in one transaction
+    private void insert(List<TaskEntity> tasks) {
+        transactions.executeWithoutResult(status -> {
+            // One round trip per batch: rewriteBatchedStatements turns it into a multi-row INSERT on MySQL
+            jdbcTemplate.batchUpdate(INSERT, tasks, tasks.size(), (statement, task) -> {
+                statement.setLong(1, task.getId());
+                statement.setString(2, task.getTitle());
+                statement.setString(3, task.getDescription());
+                statement.setBoolean(4, task.isCompleted());
+                statement.setTimestamp(5, Timestamp.from(task.getCreatedAt().toInstant()), utc());
+                statement.setTimestamp(6, Timestamp.from(task.getUpdatedAt().toInstant()), utc());
+                statement.setLong(7, task.getVersion());
+            });
+            taskOutbox.append(TaskEventEntity.Type.CREATED, tasks.stream().map(TaskEntity::getId).toList());
+        });
+    }
+
+    // Clients already hold 202s with these IDs: one bad row (a duplicate ID, a value the column
+    // refuses) must not take the rest of the batch with it. Only the rows that fail on their own are
+    // lost, and each is logged with its ID and content.
+    private void insertOneByOne(List<TaskEntity> batch) {
+        List<Long> lost = new ArrayList<>();
+        for (TaskEntity task : batch) {
+            try {
+                insert(List.of(task));
+            } catch (RuntimeException e) {
+                lost.add(task.getId());
+                log.error("Could not write queued task {} (title {}, created {})", task.getId(), task.getTitle(),
+                        task.getCreatedAt(), e);
+            }
+        }
+        if (!lost.isEmpty()) {
+            failed.increment(lost.size());
+            log.error("Lost {} of {} queued tasks, IDs {}", lost.size(), batch.size(), lost);
+        }
+    }
+
+    // A new calendar per call: setTimestamp may modify the one it is given
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+
+    // Runs after the web server has stopped taking requests
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+        }
+        writer.join(shutdownTimeout);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join();
+        }
+    }
+}
@@ -2,91 +2,375 @@ package com.assignment.taskmanager;
 
 import com.assignment.taskmanager.api.TasksApi;
 import com.assignment.taskmanager.model.Task; // Generated API Model
+import com.assignment.taskmanager.model.TaskBatchResult; // Generated API Model
+import com.assignment.taskmanager.model.TaskBatchUpdate; // Generated API Model
+import com.assignment.taskmanager.model.TaskBulkPatch; // Generated API Model
+import com.assignment.taskmanager.model.TaskPatch; // Generated API Model
 import com.assignment.taskmanager.model.TaskRequest; // Generated API Model
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+// Each operation is a span (and a taskmanager.controller timer) when annotations are observed
 @RestController
+@Observed(name = "taskmanager.controller")
 public class TasksApiController implements TasksApi {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    static final int MAX_SEARCH_OFFSET = 1000; // the spec's maximum for offset
+
     @Autowired
     private TaskRepository taskRepository;
 
-    /* MAPPING LOGIC */
+    @Autowired
+    private TaskExporter taskExporter;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskChangeBroadcaster taskChangeBroadcaster;
 
-    private Task convertToDto(TaskEntity entity) {
-        Task dto = new Task();
-        dto.setId(entity.getId());
-        dto.setTitle(entity.getTitle());
-        dto.setDescription(entity.getDescription());
-        dto.setCompleted(entity.isCompleted());
-        // The model uses OffsetDateTime, so we need to convert
-        if (entity.getCreatedAt() != null) {
-            dto.setCreatedAt(entity.getCreatedAt().toOffsetDateTime());
+    @Autowired
+    private TaskWriteBehind taskWriteBehind;
+
+    @Autowired
+    private TaskIdempotency taskIdempotency;
+
+    /* API IMPLEMENTATIONS */
+
+    // POST request to create a new task
+    @Override
+    public ResponseEntity<Task> createTask(TaskRequest taskRequest, String prefer, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            // Always written synchronously, so the key and the task commit together
+            return taskIdempotency.execute("createTask", idempotencyKey, taskRequest, new TypeReference<Task>() {},
+                    () -> create(taskRequest));
         }
-        if (entity.getUpdatedAt() != null) {
-            dto.setUpdatedAt(entity.getUpdatedAt().toOffsetDateTime());
+        if (prefersAsync(prefer)) {
+            // Queued for a batched write; the client gets the ID now and the task shortly after
+            TaskEntity queued = taskWriteBehind.enqueue(TaskMapper.toEntity(taskRequest));
+            if (queued == null) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Preference-Applied", "respond-async")
+                    .body(TaskMapper.toDto(queued));
         }
-        return dto;
+        return create(taskRequest);
     }
 
-    private TaskEntity convertToEntity(TaskRequest dto) {
-        TaskEntity entity = new TaskEntity();
-        entity.setTitle(dto.getTitle());
-        entity.setDescription(dto.getDescription());
-        entity.setCompleted(dto.getCompleted());
-        return entity;
+    // POST many tasks in one transaction
+    @Override
+    public ResponseEntity<List<TaskBatchResult>> createTasksBatch(List<TaskRequest> taskRequest, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return taskIdempotency.execute("createTasksBatch", idempotencyKey, taskRequest,
+                    new TypeReference<List<TaskBatchResult>>() {},
+                    () -> new ResponseEntity<>(taskBatchService.createAll(taskRequest), HttpStatus.OK));
+        }
+        return new ResponseEntity<>(taskBatchService.createAll(taskRequest), HttpStatus.OK);
+    }
+    // PUT many tasks in one transaction
+    @Override
+    public ResponseEntity<List<TaskBatchResult>> updateTasksBatch(List<TaskBatchUpdate> taskBatchUpdate) {
+        TaskBatchService.Updated updated = taskBatchService.updateAll(taskBatchUpdate);
+        taskCache.invalidateAll(updated.changedIds());
+        return new ResponseEntity<>(updated.results(), HttpStatus.OK);
+    }
+    // DELETE many tasks with one statement
+    @Override
+    public ResponseEntity<List<TaskBatchResult>> deleteTasksBatch(List<Long> requestBody) {
+        List<TaskBatchResult> results = taskBatchService.deleteAll(requestBody);
+        taskCache.invalidateAll(requestBody);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+    // DELETE a task by ID
+    @Override
+    public ResponseEntity<Void> deleteTask(Long id, String ifMatch) {
+        Set<Long> ifMatchVersions = TaskETags.isUnconditional(ifMatch) ? null : TaskETags.versions(ifMatch);
+        // One DELETE statement, conditional on the version for If-Match; the affected-row count decides
+        // between 204 and finding out why nothing matched
+        int deleted = ifMatchVersions == null
+                ? taskOutbox.record(TaskEventEntity.Type.DELETED, id, () -> taskRepository.deleteTaskById(id))
+                : ifMatchVersions.isEmpty() ? 0 : taskOutbox.record(TaskEventEntity.Type.DELETED, id,
+                        () -> taskRepository.deleteTaskByIdAndVersionIn(id, ifMatchVersions));
+        if (deleted == 0) {
+            return new ResponseEntity<>(writeFailure(id, ifMatchVersions));
+        }
+        taskCache.invalidate(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+    // GET one page of tasks, optionally filtered, keyset-paginated along the index that serves the filter
+    @Override
+    public ResponseEntity<List<Task>> getAllTasks(Long after, String afterKey, Integer limit, Boolean completed,
+                                                  OffsetDateTime createdAfter, OffsetDateTime createdBefore,
+                                                  OffsetDateTime updatedAfter, OffsetDateTime updatedBefore,
+                                                  String titlePrefix, String order, String ifNoneMatch) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        boolean descending = "desc".equals(order);
+        TaskFilter filter = new TaskFilter(completed,
+                toZoned(createdAfter), toZoned(createdBefore),
+                toZoned(updatedAfter), toZoned(updatedBefore),
+                titlePrefix);
 
-    /* API IMPLEMENTATIONS */
+        Specification<TaskEntity> specification = filter.toSpecification();
+        if (after != null) {
+            try {
+                specification = specification.and(filter.after(after, afterKey, descending));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        Sort sort = filter.sort(descending);
+        // Fetch one extra row to find out whether a next page exists without a COUNT query
+        List<TaskView> views = taskRepository.findViewPage(specification, sort, pageSize + 1);
+        boolean hasNext = views.size() > pageSize;
+        List<Task> dtos = views.stream()
+                                  .limit(pageSize)
+                                  .map(TaskMapper::toDto)
+                                  .toList();
 
-    // POST request to create a new task
+        // The page is still read, but an unchanged one is neither serialized nor sent
+        String etag = TaskETags.ofPage(dtos, hasNext);
+        if (ifNoneMatch != null && !TaskETags.noneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (hasNext) {
+            TaskView last = views.get(pageSize - 1);
+            String nextKey = filter.keyOf(last);
+            UriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", last.id())
+                    .replaceQueryParam("limit", pageSize);
+            if (nextKey != null) {
+                // As a URI variable, so a title with '+' or '&' is encoded in full
+                next.replaceQueryParam("afterKey", "{afterKey}").uriVariables(Map.<String, Object>of("afterKey", nextKey));
+            } else {
+                next.replaceQueryParam("afterKey");
+            }
+            headers.add(HttpHeaders.LINK, "<" + next.toUriString() + ">; rel=\"next\"");
+        }
+        return new ResponseEntity<>(dtos, headers, HttpStatus.OK);
+    }
+    // GET every task as NDJSON, streamed from a database cursor
     @Override
-    public ResponseEntity<Task> createTask(TaskRequest taskRequest) {
-        TaskEntity entityToSave = convertToEntity(taskRequest);
-        TaskEntity savedEntity = taskRepository.save(entityToSave);
-        return new ResponseEntity<>(convertToDto(savedEntity), HttpStatus.CREATED);
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskExporter::writeNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-    // DELETE a task by ID
+    // GET task changes as server-sent events, replayed from the outbox and then live
     @Override
-    public ResponseEntity<Void> deleteTask(Long id) {
-        return taskRepository.findById(id)
-                .map(task -> {
-                    taskRepository.delete(task);
-                    return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
-                }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-    }
-    // GET all tasks
+    public ResponseEntity<SseEmitter> streamTaskChanges(Long since, String lastEventId) {
+        Long from = since;
+        if (lastEventId != null) {
+            try {
+                from = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(taskChangeBroadcaster.subscribe(from));
+    }
+    // GET tasks containing every search term, most relevant first, offset-paginated
     @Override
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<TaskEntity> entities = taskRepository.findAll();
-        List<Task> dtos = entities.stream()
-                                  .map(this::convertToDto)
-                                  .collect(Collectors.toList());
-        return new ResponseEntity<>(dtos, HttpStatus.OK);
-    }
-    // Get task by ID
+    public ResponseEntity<List<Task>> searchTasks(String q, Integer limit, Integer offset) {
+        int pageSize = limit != null ? limit : DEFAULT_SEARCH_PAGE_SIZE;
+        int from = offset != null ? offset : 0;
+        // One extra row tells whether a next page exists, as for GET /tasks
+        List<TaskView> views = taskRepository.search(q, from, pageSize + 1);
+        boolean hasNext = views.size() > pageSize && from + pageSize <= MAX_SEARCH_OFFSET;
+        List<Task> dtos = views.stream()
+                                  .limit(pageSize)
+                                  .map(TaskMapper::toDto)
+                                  .toList();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (hasNext) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("offset", from + pageSize)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return new ResponseEntity<>(dtos, headers, HttpStatus.OK);
+    }
+    // Get task by ID, served from the DTO cache when the task is hot
     @Override
-    public ResponseEntity<Task> getTaskById(Long id) {
-        return taskRepository.findById(id)
-                .map(entity -> new ResponseEntity<>(convertToDto(entity), HttpStatus.OK))
+    public ResponseEntity<Task> getTaskById(Long id, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidation is answered from the cached DTO or from the version alone, never from a full row
+            Optional<String> etag = taskCache.getIfPresent(id).map(TaskETags::of)
+                    .or(() -> taskRepository.findVersionById(id).map(TaskETags::of));
+            if (etag.isPresent() && !TaskETags.noneMatch(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
+        return taskCache.get(id, this::loadTask)
+                .map(TasksApiController::withETag)
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     // PUT request to update a task by ID
     @Override
-    public ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest) {
-        return taskRepository.findById(id)
-                .map(existingEntity -> {
-                    existingEntity.setTitle(taskRequest.getTitle());
-                    existingEntity.setDescription(taskRequest.getDescription());
-                    existingEntity.setCompleted(taskRequest.getCompleted());
-                    TaskEntity updatedEntity = taskRepository.save(existingEntity);
-                    return new ResponseEntity<>(convertToDto(updatedEntity), HttpStatus.OK);
-                }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-    }
-}
\ No newline at end of file
+    public ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest, String ifMatch) {
+        Set<Long> ifMatchVersions = TaskETags.isUnconditional(ifMatch) ? null : TaskETags.versions(ifMatch);
+        Set<Long> expectedVersions = TaskETags.expectedVersions(ifMatchVersions, taskRequest.getVersion());
+        // One UPDATE statement without loading the row first (optimistic locking, no row lock held
+        // across requests); a stale version simply matches no row
+        int updated;
+        if (expectedVersions == null) {
+            updated = taskOutbox.record(TaskEventEntity.Type.UPDATED, id, () -> taskRepository.updateTaskById(id,
+                    taskRequest.getTitle(),
+                    taskRequest.getDescription(),
+                    taskRequest.getCompleted(),
+                    TaskEntity.now()));
+        } else if (expectedVersions.isEmpty()) {
+            updated = 0;
+        } else {
+            updated = taskOutbox.record(TaskEventEntity.Type.UPDATED, id, () -> taskRepository.updateTaskByIdAndVersionIn(id,
+                    taskRequest.getTitle(),
+                    taskRequest.getDescription(),
+                    taskRequest.getCompleted(),
+                    TaskEntity.now(),
+                    expectedVersions));
+        }
+        if (updated == 0) {
+            return new ResponseEntity<>(writeFailure(id, ifMatchVersions));
+        }
+        // MySQL has no UPDATE ... RETURNING, so the stored row is read back by primary key,
+        // through the cache so the fresh DTO is what later reads get
+        taskCache.invalidate(id);
+        return taskCache.get(id, this::loadTask)
+                .map(TasksApiController::withETag)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    // PATCH a task by ID with a JSON Merge Patch
+    @Override
+    public ResponseEntity<Task> patchTask(Long id, TaskPatch taskPatch, String ifMatch) {
+        Set<Long> ifMatchVersions = TaskETags.isUnconditional(ifMatch) ? null : TaskETags.versions(ifMatch);
+        Set<Long> expectedVersions = TaskETags.expectedVersions(ifMatchVersions, taskPatch.getVersion());
+        if (taskPatch.getTitle() == null && taskPatch.getDescription() == null && taskPatch.getCompleted() == null) {
+            // Empty patch: nothing is written, the current task is returned if the preconditions hold
+            Optional<Task> current = taskCache.get(id, this::loadTask);
+            if (current.isEmpty() || (expectedVersions != null && !expectedVersions.contains(current.get().getVersion()))) {
+                return new ResponseEntity<>(writeFailure(id, ifMatchVersions));
+            }
+            return withETag(current.get());
+        }
+        // One UPDATE of just the patched columns (plus updatedAt and version)
+        int updated = expectedVersions != null && expectedVersions.isEmpty()
+                ? 0
+                : taskOutbox.record(TaskEventEntity.Type.UPDATED, id, () -> taskRepository.patchTaskById(id,
+                        taskPatch.getTitle(),
+                        taskPatch.getDescription(),
+                        taskPatch.getCompleted(),
+                        TaskEntity.now(),
+                        expectedVersions));
+        if (updated == 0) {
+            return new ResponseEntity<>(writeFailure(id, ifMatchVersions));
+        }
+        taskCache.invalidate(id);
+        return taskCache.get(id, this::loadTask)
+                .map(TasksApiController::withETag)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    // PATCH the completion state of many tasks with one statement
+    @Override
+    public ResponseEntity<List<TaskBatchResult>> patchTasksBatch(TaskBulkPatch taskBulkPatch) {
+        List<TaskBatchResult> results = taskBatchService.setCompletedAll(taskBulkPatch.getIds(), taskBulkPatch.getCompleted());
+        taskCache.invalidateAll(taskBulkPatch.getIds());
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    private ResponseEntity<Task> create(TaskRequest taskRequest) {
+        TaskEntity entityToSave = TaskMapper.toEntity(taskRequest);
+        TaskEntity savedEntity = taskOutbox.recordCreate(() -> taskRepository.save(entityToSave));
+        // Not written to the cache: a concurrent delete of the new ID could otherwise be masked by a late put
+        Task task = TaskMapper.toDto(savedEntity);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(TaskETags.of(task)).body(task);
+    }
+
+    // Prefer: respond-async, possibly among other preferences (which are ignored)
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.split(";")[0].trim().equalsIgnoreCase("respond-async")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Optional<Task> loadTask(Long id) {
+        return taskRepository.findViewById(id).map(TaskMapper::toDto);
+    }
+
+    // Why a write matched no row: the task is gone (404), If-Match names an older version (412),
+    // or the version in the request body is stale (409)
+    private HttpStatus writeFailure(Long id, Set<Long> ifMatchVersions) {
+        Optional<Long> current = taskRepository.findVersionById(id);
+        if (current.isEmpty()) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ifMatchVersions != null && !ifMatchVersions.contains(current.get())) {
+            return HttpStatus.PRECONDITION_FAILED;
+        }
+        return HttpStatus.CONFLICT;
+    }
+
+    private static ResponseEntity<Task> withETag(Task task) {
+        return ResponseEntity.ok().eTag(TaskETags.of(task)).body(task);
+    }
+
+    // A versioned entity write (the batch update) lost against a concurrent one; its transaction was rolled back
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
+
+    // Parameter constraints from openapi.yaml (e.g. the page size bounds) are checked by method validation
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Void> handleConstraintViolation(ConstraintViolationException e) {
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    private static ZonedDateTime toZoned(OffsetDateTime value) {
+        return value != null ? value.toZonedDateTime() : null;
+    }
+}
@@ -0,0 +1,134 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.observation.MeterObservationHandler;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.TracingAwareMeterObservationHandler;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+// Spans below the HTTP server span: TasksApiController methods (@Observed), repository calls
+// (RepositoryObservationPostProcessor), JDBC statements (datasource-micrometer) and, here, writing
+// the JSON response. Spans go to an OTLP collector when management.otlp.tracing.endpoint is set,
+// and to the log with taskmanager.tracing.logging-exporter.enabled=true.
+@Configuration(proxyBeanMethods = false)
+public class TracingConfiguration {
+
+    // Spans only: as timers they would repeat http.server.requests (per operation) and
+    // spring.data.repository.invocations (per repository method)
+    static final Set<String> SPAN_ONLY = Set.of("taskmanager.controller", "taskmanager.repository",
+            "taskmanager.serialization");
+
+    // Replaces Boot's meter handler, built the same way, minus the span-only observations
+    @Bean
+    public MeterObservationHandler<Observation.Context> meterObservationHandler(
+            MeterRegistry meterRegistry, ObjectProvider<Tracer> tracer) {
+        MeterObservationHandler<Observation.Context> handler = new DefaultMeterObservationHandler(meterRegistry);
+        Tracer available = tracer.getIfAvailable();
+        if (available != null) {
+            handler = new TracingAwareMeterObservationHandler<>(handler, available); // Exemplars
+        }
+        return new SkippingMeterObservationHandler(handler);
+    }
+
+    // Replaces Boot's JSON converter, with the same ObjectMapper
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new ObservedJsonConverter(objectMapper, observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "taskmanager.tracing.logging-exporter.enabled", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    static class SkippingMeterObservationHandler implements MeterObservationHandler<Observation.Context> {
+
+        private final MeterObservationHandler<Observation.Context> delegate;
+
+        SkippingMeterObservationHandler(MeterObservationHandler<Observation.Context> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return !SPAN_ONLY.contains(context.getName()) && delegate.supportsContext(context);
+        }
+
+        @Override
+        public void onStart(Observation.Context context) {
+            delegate.onStart(context);
+        }
+
+        @Override
+        public void onError(Observation.Context context) {
+            delegate.onError(context);
+        }
+
+        @Override
+        public void onEvent(Observation.Event event, Observation.Context context) {
+            delegate.onEvent(event, context);
+        }
+
+        @Override
+        public void onScopeOpened(Observation.Context context) {
+            delegate.onScopeOpened(context);
+        }
+
+        @Override
+        public void onScopeClosed(Observation.Context context) {
+            delegate.onScopeClosed(context);
+        }
+
+        @Override
+        public void onScopeReset(Observation.Context context) {
+            delegate.onScopeReset(context);
+        }
+
+        @Override
+        public void onStop(Observation.Context context) {
+            delegate.onStop(context);
+        }
+    }
+
+    static class ObservedJsonConverter extends MappingJackson2HttpMessageConverter {
+
+        private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+        ObservedJsonConverter(ObjectMapper objectMapper, ObjectProvider<ObservationRegistry> observationRegistry) {
+            super(objectMapper);
+            this.observationRegistry = observationRegistry;
+        }
+
+        // Only inside a request: change stream events are written from the broadcaster's threads,
+        // one per subscriber, and would each start a trace of their own
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+            if (registry.getCurrentObservation() == null) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+            Observation.createNotStarted("taskmanager.serialization", registry)
+                    .contextualName("json write")
+                    .lowCardinalityKeyValue("type", object.getClass().getSimpleName())
+                    .observeChecked(() -> super.writeInternal(object, type, outputMessage));
+        }
+    }
+}
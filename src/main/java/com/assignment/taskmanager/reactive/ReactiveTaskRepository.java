@@ -0,0 +1,65 @@
+package com.assignment.taskmanager.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRow, Long> {
+
+    // Every task in ID order; rows are pulled from the driver as the subscriber requests them
+    Flux<TaskRow> findAllByOrderByIdAsc();
+
+    // Which of the given IDs exist, read from the primary key index only
+    @Query("SELECT id FROM task_entity WHERE id IN (:ids)")
+    Flux<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Only the version (the ETag), for conditional requests that may not need the row
+    @Query("SELECT version FROM task_entity WHERE id = :id")
+    Mono<Long> findVersionById(@Param("id") Long id);
+
+    // Single DELETE by primary key; returns the number of rows removed (0 or 1)
+    @Modifying
+    @Query("DELETE FROM task_entity WHERE id = :id")
+    Mono<Integer> deleteTaskById(@Param("id") Long id);
+
+    // Single UPDATE of the writable columns; returns the number of rows matched
+    @Modifying
+    @Query("UPDATE task_entity SET title = :title, description = :description, completed = :completed, "
+            + "updated_at = :updatedAt, version = version + 1 WHERE id = :id")
+    Mono<Integer> updateTaskById(@Param("id") Long id,
+                                 @Param("title") String title,
+                                 @Param("description") String description,
+                                 @Param("completed") boolean completed,
+                                 @Param("updatedAt") OffsetDateTime updatedAt);
+
+    // One UPDATE for a checklist: rows already in the requested state are left alone and keep their version
+    @Modifying
+    @Query("UPDATE task_entity SET completed = :completed, updated_at = :updatedAt, version = version + 1 "
+            + "WHERE id IN (:ids) AND completed <> :completed")
+    Mono<Integer> updateCompletedByIdIn(@Param("ids") Collection<Long> ids,
+                                        @Param("completed") boolean completed,
+                                        @Param("updatedAt") OffsetDateTime updatedAt);
+
+    // Conditional variants for If-Match and versioned writes: 0 rows once the row has moved past the expected versions
+    @Modifying
+    @Query("DELETE FROM task_entity WHERE id = :id AND version IN (:versions)")
+    Mono<Integer> deleteTaskByIdAndVersionIn(@Param("id") Long id, @Param("versions") Collection<Long> versions);
+
+    @Modifying
+    @Query("UPDATE task_entity SET title = :title, description = :description, completed = :completed, "
+            + "updated_at = :updatedAt, version = version + 1 WHERE id = :id AND version IN (:versions)")
+    Mono<Integer> updateTaskByIdAndVersionIn(@Param("id") Long id,
+                                             @Param("title") String title,
+                                             @Param("description") String description,
+                                             @Param("completed") boolean completed,
+                                             @Param("updatedAt") OffsetDateTime updatedAt,
+                                             @Param("versions") Collection<Long> versions);
+}
@@ -0,0 +1,138 @@
+package com.assignment.taskmanager.reactive;
+
+import com.assignment.taskmanager.model.TaskBatchResult; // Generated API Model
+import com.assignment.taskmanager.model.TaskBatchUpdate; // Generated API Model
+import com.assignment.taskmanager.model.TaskPatch; // Generated API Model
+import com.assignment.taskmanager.model.TaskRequest; // Generated API Model
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Inserts and bulk writes of the reactive variant. Rows carry their ID before the INSERT, so they
+// are written with R2dbcEntityTemplate.insert rather than save (which would issue an UPDATE).
+@Service
+public class ReactiveTaskService {
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private TaskIdAllocator idAllocator;
+
+    public Mono<TaskRow> create(TaskRequest request) {
+        TaskRow row = TaskRowMapper.toRow(request);
+        return idAllocator.nextId().flatMap(id -> {
+            row.setId(id);
+            row.setCreatedAt(TaskRow.now());
+            row.setUpdatedAt(row.getCreatedAt());
+            return template.insert(row);
+        });
+    }
+
+    @Transactional
+    public Flux<TaskBatchResult> createAll(List<TaskRequest> requests) {
+        return Flux.range(0, requests.size())
+                .concatMap(i -> create(requests.get(i))
+                        .map(row -> result(i, row.getId(), HttpStatus.CREATED).task(TaskRowMapper.toDto(row))));
+    }
+
+    @Transactional
+    public Flux<TaskBatchResult> updateAll(List<TaskBatchUpdate> updates) {
+        OffsetDateTime now = TaskRow.now();
+        return Flux.range(0, updates.size())
+                .concatMap(i -> {
+                    TaskBatchUpdate update = updates.get(i);
+                    boolean completed = Boolean.TRUE.equals(update.getCompleted());
+                    Mono<Integer> write = update.getVersion() == null
+                            ? taskRepository.updateTaskById(update.getId(), update.getTitle(), update.getDescription(),
+                                    completed, now)
+                            : taskRepository.updateTaskByIdAndVersionIn(update.getId(), update.getTitle(),
+                                    update.getDescription(), completed, now, List.of(update.getVersion()));
+                    // Nothing matched: the task is gone, or (with a version) it has moved on
+                    return write
+                            .flatMap(updated -> updated == 0
+                                    ? taskRepository.existsById(update.getId()).map(exists ->
+                                            result(i, update.getId(), exists ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND))
+                                    : taskRepository.findById(update.getId())
+                                            .map(row -> result(i, row.getId(), HttpStatus.OK).task(TaskRowMapper.toDto(row))));
+                });
+    }
+
+    @Transactional
+    public Flux<TaskBatchResult> deleteAll(List<Long> ids) {
+        return taskRepository.findExistingIds(ids)
+                .collect(HashSet<Long>::new, HashSet::add)
+                // Single DELETE ... WHERE id IN (...) for the IDs that exist
+                .flatMap(existing -> existing.isEmpty()
+                        ? Mono.just(existing)
+                        : taskRepository.deleteAllById(existing).thenReturn(existing))
+                .flatMapMany(existing -> Flux.range(0, ids.size())
+                        .map(i -> result(i, ids.get(i),
+                                existing.contains(ids.get(i)) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND)));
+    }
+
+    @Transactional
+    public Flux<TaskBatchResult> setCompletedAll(List<Long> ids, boolean completed) {
+        return taskRepository.findExistingIds(ids)
+                .collect(HashSet<Long>::new, HashSet::add)
+                // Single UPDATE ... SET completed = ? WHERE id IN (...) for the IDs that exist
+                .flatMap(existing -> existing.isEmpty()
+                        ? Mono.just(existing)
+                        : taskRepository.updateCompletedByIdIn(existing, completed, TaskRow.now()).thenReturn(existing))
+                .flatMapMany(existing -> Flux.range(0, ids.size())
+                        .map(i -> result(i, ids.get(i),
+                                existing.contains(ids.get(i)) ? HttpStatus.OK : HttpStatus.NOT_FOUND)));
+    }
+
+    // Single UPDATE of the patched columns plus updated_at and version; when versions is not null the
+    // row must still have one of them. Returns the number of rows matched.
+    public Mono<Integer> patch(Long id, TaskPatch patch, Collection<Long> versions) {
+        StringBuilder sql = new StringBuilder("UPDATE task_entity SET ");
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (patch.getTitle() != null) {
+            sql.append("title = :title, ");
+            bindings.put("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            sql.append("description = :description, ");
+            bindings.put("description", patch.getDescription());
+        }
+        if (patch.getCompleted() != null) {
+            sql.append("completed = :completed, ");
+            bindings.put("completed", patch.getCompleted());
+        }
+        sql.append("updated_at = :updatedAt, version = version + 1 WHERE id = :id");
+        bindings.put("updatedAt", TaskRow.now());
+        bindings.put("id", id);
+        if (versions != null) {
+            sql.append(" AND version IN (:versions)");
+            bindings.put("versions", versions);
+        }
+        return template.getDatabaseClient().sql(sql.toString())
+                .bindValues(bindings)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    private static TaskBatchResult result(int index, Long id, HttpStatus status) {
+        return new TaskBatchResult()
+                .index(index)
+                .id(id)
+                .status(status.value());
+    }
+}
@@ -0,0 +1,29 @@
+package com.assignment.taskmanager.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+// Non-blocking variant of the service: WebFlux on Netty over R2DBC, implementing the same
+// openapi.yaml contract as TaskmanagerApplication. Only this package is scanned, and the JDBC/JPA
+// stack is left out. Selected with -Pvariant=reactive at build time or loader.main at run time.
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class ReactiveTaskmanagerApplication {
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(ReactiveTaskmanagerApplication.class);
+		// Spring MVC is on the classpath too, which would otherwise win
+		application.setWebApplicationType(WebApplicationType.REACTIVE);
+		application.run(args);
+	}
+
+	// Tomcat is on the classpath for the servlet variant; serve the reactive stack from Netty instead
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+}
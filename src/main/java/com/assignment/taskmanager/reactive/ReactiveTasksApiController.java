@@ -0,0 +1,275 @@
+package com.assignment.taskmanager.reactive;
+
+import com.assignment.taskmanager.TaskETags;
+import com.assignment.taskmanager.model.Task; // Generated API Model
+import com.assignment.taskmanager.model.TaskBatchResult; // Generated API Model
+import com.assignment.taskmanager.model.TaskBatchUpdate; // Generated API Model
+import com.assignment.taskmanager.model.TaskBulkPatch; // Generated API Model
+import com.assignment.taskmanager.model.TaskPatch; // Generated API Model
+import com.assignment.taskmanager.model.TaskRequest; // Generated API Model
+import com.assignment.taskmanager.reactive.api.TasksApi; // Generated with reactive=true
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@RestController
+public class ReactiveTasksApiController implements TasksApi {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private ReactiveTaskService taskService;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    /* API IMPLEMENTATIONS */
+
+    // POST request to create a new task; Prefer: respond-async is not supported here and is ignored.
+    // Idempotency-Key is not supported either, and is refused rather than ignored: a client relying
+    // on it would otherwise create duplicates on retry.
+    @Override
+    public Mono<ResponseEntity<Task>> createTask(Mono<TaskRequest> taskRequest, String prefer, String idempotencyKey,
+                                                 ServerWebExchange exchange) {
+        if (idempotencyKey != null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+        }
+        return taskRequest
+                .flatMap(taskService::create)
+                .map(row -> ResponseEntity.status(HttpStatus.CREATED).eTag(etag(row)).body(TaskRowMapper.toDto(row)));
+    }
+    // POST many tasks in one transaction
+    @Override
+    public Mono<ResponseEntity<Flux<TaskBatchResult>>> createTasksBatch(Flux<TaskRequest> taskRequest,
+                                                                        String idempotencyKey,
+                                                                        ServerWebExchange exchange) {
+        if (idempotencyKey != null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+        }
+        return batch(taskRequest, requests -> taskService.createAll(requests));
+    }
+    // PUT many tasks in one transaction
+    @Override
+    public Mono<ResponseEntity<Flux<TaskBatchResult>>> updateTasksBatch(Flux<TaskBatchUpdate> taskBatchUpdate,
+                                                                        ServerWebExchange exchange) {
+        return batch(taskBatchUpdate, updates -> taskService.updateAll(updates));
+    }
+    // DELETE many tasks with one statement
+    @Override
+    public Mono<ResponseEntity<Flux<TaskBatchResult>>> deleteTasksBatch(Flux<Long> requestBody,
+                                                                        ServerWebExchange exchange) {
+        return batch(requestBody, ids -> taskService.deleteAll(ids));
+    }
+    // DELETE a task by ID
+    @Override
+    public Mono<ResponseEntity<Void>> deleteTask(Long id, String ifMatch, ServerWebExchange exchange) {
+        Set<Long> ifMatchVersions = TaskETags.isUnconditional(ifMatch) ? null : TaskETags.versions(ifMatch);
+        Mono<Integer> delete = ifMatchVersions == null
+                ? taskRepository.deleteTaskById(id)
+                : ifMatchVersions.isEmpty() ? Mono.just(0) : taskRepository.deleteTaskByIdAndVersionIn(id, ifMatchVersions);
+        return delete.flatMap(deleted -> deleted == 0
+                ? writeFailure(id, ifMatchVersions).map(status -> new ResponseEntity<Void>(status))
+                : Mono.just(new ResponseEntity<Void>(HttpStatus.NO_CONTENT)));
+    }
+    // GET one page of tasks, optionally filtered, keyset-paginated along the index that serves the
+    // filter (TaskCriteria.sort) and streamed as it is read
+    @Override
+    public Mono<ResponseEntity<Flux<Task>>> getAllTasks(Long after, String afterKey, Integer limit, Boolean completed,
+                                                        OffsetDateTime createdAfter, OffsetDateTime createdBefore,
+                                                        OffsetDateTime updatedAfter, OffsetDateTime updatedBefore,
+                                                        String titlePrefix, String order, String ifNoneMatch,
+                                                        ServerWebExchange exchange) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        boolean descending = "desc".equals(order);
+        Criteria criteria = TaskCriteria.of(completed, createdAfter, createdBefore, updatedAfter, updatedBefore, titlePrefix);
+        String key = TaskCriteria.sortKey(createdAfter, createdBefore, updatedAfter, updatedBefore, titlePrefix);
+        if (after != null) {
+            try {
+                criteria = TaskCriteria.after(criteria, key, TaskCriteria.parseKey(key, afterKey), after, descending);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+            }
+        }
+        Sort sort = TaskCriteria.sort(completed, key, descending);
+
+        // Headers go out before the streamed body, so the next-page cursor is found first from the
+        // cursor columns alone: the last row of this page and whether one more row follows it. For the
+        // same reason the page carries no ETag (it would mean buffering the page) and If-None-Match is
+        // not evaluated.
+        String[] columns = key.equals("id") ? new String[] {"id"} : new String[] {"id", key};
+        Query boundary = Query.query(criteria).columns(columns).sort(sort).offset(pageSize - 1).limit(2);
+        Criteria filter = criteria;
+        return template.select(boundary, TaskRow.class)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() < 2) {
+                        return ResponseEntity.ok().body(page(filter, sort, pageSize));
+                    }
+                    // Bound the page by the cursor so it ends exactly where the next one starts
+                    TaskRow last = rows.get(0);
+                    Object lastKey = TaskCriteria.keyOf(last, key);
+                    UriComponentsBuilder next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                            .replaceQueryParam("after", last.getId())
+                            .replaceQueryParam("limit", pageSize);
+                    if (lastKey != null) {
+                        // As a URI variable, so a title with '+' or '&' is encoded in full
+                        next.replaceQueryParam("afterKey", "{afterKey}").uriVariables(Map.of("afterKey", lastKey));
+                    } else {
+                        next.replaceQueryParam("afterKey");
+                    }
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.LINK, "<" + next.toUriString() + ">; rel=\"next\"")
+                            .body(page(TaskCriteria.upTo(filter, key, lastKey, last.getId(), descending), sort, pageSize));
+                });
+    }
+    // GET every task as NDJSON; rows are read from the driver only as fast as the client consumes them
+    @Override
+    public Mono<ResponseEntity<Object>> exportTasks(ServerWebExchange exchange) {
+        Flux<Task> tasks = taskRepository.findAllByOrderByIdAsc().map(TaskRowMapper::toDto);
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(tasks));
+    }
+    // Search is not implemented here: the FULLTEXT query and its LIKE fallback live in the JPA
+    // fragment (TaskSearchRepositoryImpl), which has no R2DBC counterpart. Answered explicitly
+    // rather than through the interface's default.
+    @Override
+    public Mono<ResponseEntity<Flux<Task>>> searchTasks(String q, Integer limit, Integer offset,
+                                                        ServerWebExchange exchange) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+    }
+    // Get task by ID; revalidation with If-None-Match reads the version alone
+    @Override
+    public Mono<ResponseEntity<Task>> getTaskById(Long id, String ifNoneMatch, ServerWebExchange exchange) {
+        Mono<ResponseEntity<Task>> full = taskRepository.findById(id)
+                .map(row -> ResponseEntity.ok().eTag(etag(row)).body(TaskRowMapper.toDto(row)))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        if (ifNoneMatch == null) {
+            return full;
+        }
+        return taskRepository.findVersionById(id)
+                .map(TaskETags::of)
+                .filter(etag -> !TaskETags.noneMatch(ifNoneMatch, etag))
+                .map(etag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Task>build())
+                .switchIfEmpty(full);
+    }
+    // PUT request to update a task by ID
+    @Override
+    public Mono<ResponseEntity<Task>> updateTask(Long id, Mono<TaskRequest> taskRequest, String ifMatch,
+                                                 ServerWebExchange exchange) {
+        Set<Long> ifMatchVersions = TaskETags.isUnconditional(ifMatch) ? null : TaskETags.versions(ifMatch);
+        // One UPDATE statement, conditional on the expected versions (If-Match, narrowed by a version in the
+        // body), then the stored row is read back by primary key
+        return taskRequest
+                .flatMap(request -> {
+                    Set<Long> expectedVersions = TaskETags.expectedVersions(ifMatchVersions, request.getVersion());
+                    boolean completed = Boolean.TRUE.equals(request.getCompleted());
+                    if (expectedVersions == null) {
+                        return taskRepository.updateTaskById(id, request.getTitle(), request.getDescription(),
+                                completed, TaskRow.now());
+                    }
+                    return expectedVersions.isEmpty()
+                            ? Mono.just(0)
+                            : taskRepository.updateTaskByIdAndVersionIn(id, request.getTitle(), request.getDescription(),
+                                    completed, TaskRow.now(), expectedVersions);
+                })
+                .flatMap(updated -> updated == 0
+                        ? writeFailure(id, ifMatchVersions).map(status -> new ResponseEntity<Task>(status))
+                        : taskRepository.findById(id)
+                                .map(row -> ResponseEntity.ok().eTag(etag(row)).body(TaskRowMapper.toDto(row)))
+                                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+    // PATCH a task by ID with a JSON Merge Patch; one UPDATE of just the patched columns
+    @Override
+    public Mono<ResponseEntity<Task>> patchTask(Long id, Mono<TaskPatch> taskPatch, String ifMatch,
+                                                ServerWebExchange exchange) {
+        Set<Long> ifMatchVersions = TaskETags.isUnconditional(ifMatch) ? null : TaskETags.versions(ifMatch);
+        return taskPatch
+                .flatMap(patch -> {
+                    Set<Long> expectedVersions = TaskETags.expectedVersions(ifMatchVersions, patch.getVersion());
+                    if (patch.getTitle() == null && patch.getDescription() == null && patch.getCompleted() == null) {
+                        // Empty patch: nothing is written, the current task is returned if the preconditions hold
+                        return taskRepository.findById(id)
+                                .filter(row -> expectedVersions == null || expectedVersions.contains(row.getVersion()))
+                                .map(row -> ResponseEntity.ok().eTag(etag(row)).body(TaskRowMapper.toDto(row)))
+                                .switchIfEmpty(Mono.defer(() -> writeFailure(id, ifMatchVersions)
+                                        .map(status -> new ResponseEntity<Task>(status))));
+                    }
+                    Mono<Integer> write = expectedVersions != null && expectedVersions.isEmpty()
+                            ? Mono.just(0)
+                            : taskService.patch(id, patch, expectedVersions);
+                    return write.flatMap(updated -> updated == 0
+                            ? writeFailure(id, ifMatchVersions).map(status -> new ResponseEntity<Task>(status))
+                            : taskRepository.findById(id)
+                                    .map(row -> ResponseEntity.ok().eTag(etag(row)).body(TaskRowMapper.toDto(row)))
+                                    .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+                });
+    }
+    // PATCH the completion state of many tasks with one statement
+    @Override
+    public Mono<ResponseEntity<Flux<TaskBatchResult>>> patchTasksBatch(Mono<TaskBulkPatch> taskBulkPatch,
+                                                                       ServerWebExchange exchange) {
+        return taskBulkPatch.map(patch -> ResponseEntity.ok()
+                .body(taskService.setCompletedAll(patch.getIds(), patch.getCompleted())));
+    }
+
+    // Why a write matched no row: the task is gone (404), If-Match names an older version (412),
+    // or the version in the request body is stale (409)
+    private Mono<HttpStatus> writeFailure(Long id, Set<Long> ifMatchVersions) {
+        return taskRepository.findVersionById(id)
+                .map(current -> ifMatchVersions != null && !ifMatchVersions.contains(current)
+                        ? HttpStatus.PRECONDITION_FAILED
+                        : HttpStatus.CONFLICT)
+                .defaultIfEmpty(HttpStatus.NOT_FOUND);
+    }
+
+    private static String etag(TaskRow row) {
+        return TaskETags.of(row.getVersion());
+    }
+
+    private Flux<Task> page(Criteria criteria, Sort sort, int pageSize) {
+        return template.select(Query.query(criteria).sort(sort).limit(pageSize), TaskRow.class)
+                .map(TaskRowMapper::toDto);
+    }
+
+    // The 1..1000 item bound of the batch endpoints; a reactive body is not covered by @Size
+    private static <T> Mono<ResponseEntity<Flux<TaskBatchResult>>> batch(
+            Flux<T> items, Function<List<T>, Flux<TaskBatchResult>> operation) {
+        return items.take(MAX_BATCH_SIZE + 1)
+                .collectList()
+                .map(list -> list.isEmpty() || list.size() > MAX_BATCH_SIZE
+                        ? new ResponseEntity<Flux<TaskBatchResult>>(HttpStatus.BAD_REQUEST)
+                        : new ResponseEntity<>(operation.apply(list), HttpStatus.OK));
+    }
+
+    // Parameter constraints from openapi.yaml (e.g. the page size bounds) are checked by method validation
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Void> handleConstraintViolation(ConstraintViolationException e) {
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+}
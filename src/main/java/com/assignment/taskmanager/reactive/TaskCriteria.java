@@ -0,0 +1,125 @@
+package com.assignment.taskmanager.reactive;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Optional filters of GET /tasks as a Spring Data Relational Criteria; the same predicates as the
+// servlet variant's TaskFilter, backed by the same indexes on task_entity
+final class TaskCriteria {
+
+    private TaskCriteria() {
+    }
+
+    static Criteria of(Boolean completed,
+                       OffsetDateTime createdAfter, OffsetDateTime createdBefore,
+                       OffsetDateTime updatedAfter, OffsetDateTime updatedBefore,
+                       String titlePrefix) {
+        Criteria criteria = Criteria.empty();
+        if (completed != null) {
+            criteria = criteria.and("completed").is(completed);
+        }
+        if (createdAfter != null) {
+            criteria = criteria.and("createdAt").greaterThanOrEquals(createdAfter);
+        }
+        if (createdBefore != null) {
+            criteria = criteria.and("createdAt").lessThan(createdBefore);
+        }
+        if (updatedAfter != null) {
+            criteria = criteria.and("updatedAt").greaterThanOrEquals(updatedAfter);
+        }
+        if (updatedBefore != null) {
+            criteria = criteria.and("updatedAt").lessThan(updatedBefore);
+        }
+        if (titlePrefix != null) {
+            // Backslash is the default LIKE escape on both H2 and MySQL
+            criteria = criteria.and("title").like(escapeLike(titlePrefix) + "%");
+        }
+        return criteria;
+    }
+
+    // The column the page is ordered by before the ID, as in TaskFilter.sortKey
+    static String sortKey(OffsetDateTime createdAfter, OffsetDateTime createdBefore,
+                          OffsetDateTime updatedAfter, OffsetDateTime updatedBefore,
+                          String titlePrefix) {
+        if (updatedAfter != null || updatedBefore != null) {
+            return "updatedAt";
+        }
+        if (createdAfter != null || createdBefore != null) {
+            return "createdAt";
+        }
+        return titlePrefix != null ? "title" : "id";
+    }
+
+    // completed first when it is filtered, then the key, then the ID: the order of the index that serves the filter
+    static Sort sort(Boolean completed, String key, boolean descending) {
+        List<String> properties = new ArrayList<>();
+        if (completed != null) {
+            properties.add("completed");
+        }
+        if (!key.equals("id")) {
+            properties.add(key);
+        }
+        properties.add("id");
+        return Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, properties.toArray(String[]::new));
+    }
+
+    // The key value of an afterKey cursor; null when the order is by ID alone. Throws
+    // IllegalArgumentException or DateTimeParseException when it is missing or malformed.
+    static Object parseKey(String key, String afterKey) {
+        if (key.equals("id")) {
+            return null;
+        }
+        if (afterKey == null) {
+            throw new IllegalArgumentException("afterKey is required with after when ordered by " + key);
+        }
+        return key.equals("title") ? afterKey : OffsetDateTime.parse(afterKey);
+    }
+
+    // The row's key value, whose toString() is the afterKey of a page ending with it; null when the
+    // order is by ID alone
+    static Object keyOf(TaskRow row, String key) {
+        return switch (key) {
+            case "updatedAt" -> row.getUpdatedAt();
+            case "createdAt" -> row.getCreatedAt();
+            case "title" -> row.getTitle();
+            default -> null;
+        };
+    }
+
+    // Keyset condition past the last row of a page, in the direction of the sort: the key past its
+    // value, or equal to it and the ID past the last one
+    static Criteria after(Criteria criteria, String key, Object value, Long after, boolean descending) {
+        if (key.equals("id")) {
+            return descending
+                    ? criteria.and("id").lessThan(after)
+                    : criteria.and("id").greaterThan(after);
+        }
+        return descending
+                ? criteria.and(key).lessThanOrEquals(value)
+                        .and(Criteria.where(key).lessThan(value).or("id").lessThan(after))
+                : criteria.and(key).greaterThanOrEquals(value)
+                        .and(Criteria.where(key).greaterThan(value).or("id").greaterThan(after));
+    }
+
+    // Upper bound (inclusive) of a page in the direction of the sort
+    static Criteria upTo(Criteria criteria, String key, Object value, Long last, boolean descending) {
+        if (key.equals("id")) {
+            return descending
+                    ? criteria.and("id").greaterThanOrEquals(last)
+                    : criteria.and("id").lessThanOrEquals(last);
+        }
+        return descending
+                ? criteria.and(key).greaterThanOrEquals(value)
+                        .and(Criteria.where(key).greaterThan(value).or("id").greaterThanOrEquals(last))
+                : criteria.and(key).lessThanOrEquals(value)
+                        .and(Criteria.where(key).lessThan(value).or("id").lessThanOrEquals(last));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,81 @@
+package com.assignment.taskmanager.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Hands out task IDs from task_seq in blocks, interpreting each value the way Hibernate's pooled
+// optimizer does for TaskEntity (value v reserves v - 49 .. v), so both variants can write to the
+// same table without collisions. task_seq is a sequence on H2 and a one-row table on MySQL.
+@Component
+public class TaskIdAllocator {
+
+    // Must match @SequenceGenerator(allocationSize) on TaskEntity
+    static final int ALLOCATION_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator newTransaction;
+    private final boolean tableBacked;
+    private final AtomicReference<Block> block = new AtomicReference<>(new Block(new AtomicLong(1), 0));
+
+    public TaskIdAllocator(DatabaseClient databaseClient,
+                           ReactiveTransactionManager transactionManager,
+                           ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        // The table row is locked until commit, so never hold it for the caller's whole transaction
+        this.newTransaction = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        this.tableBacked = DialectResolver.getDialect(connectionFactory) instanceof MySqlDialect;
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Block current = block.get();
+            long id = current.next().getAndIncrement();
+            if (id <= current.hi()) {
+                return Mono.just(id);
+            }
+            // Concurrent callers may each fetch a block; the one replaced here only leaves a gap
+            return fetchHi().map(hi -> {
+                block.set(new Block(new AtomicLong(hi - ALLOCATION_SIZE + 2), hi));
+                return hi - ALLOCATION_SIZE + 1;
+            });
+        });
+    }
+
+    private Mono<Long> fetchHi() {
+        // The first value (1) is consumed by Hibernate as the start of its first block; skip past it
+        return nextSequenceValue().flatMap(value -> value < ALLOCATION_SIZE ? nextSequenceValue() : Mono.just(value));
+    }
+
+    private Mono<Long> nextSequenceValue() {
+        if (!tableBacked) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR task_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+        return databaseClient.sql("SELECT next_val FROM task_seq FOR UPDATE")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("UPDATE task_seq SET next_val = :next WHERE next_val = :current")
+                        .bind("next", value + ALLOCATION_SIZE)
+                        .bind("current", value)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(value))
+                .as(newTransaction::transactional);
+    }
+
+    private record Block(AtomicLong next, long hi) {
+    }
+}
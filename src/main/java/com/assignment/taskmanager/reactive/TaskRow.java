@@ -0,0 +1,33 @@
+package com.assignment.taskmanager.reactive;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+// R2DBC mapping of the task_entity table created for TaskEntity. IDs are assigned by
+// TaskIdAllocator before insert, from the same task_seq as the JPA side.
+@Data
+@Table("task_entity")
+public class TaskRow {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private String description;
+    private boolean completed;
+
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+
+    // Same column as TaskEntity's @Version, maintained by the UPDATE statements in ReactiveTaskRepository
+    private long version;
+
+    // Truncated to the column precision, so the value in memory is the one stored (and gives the same ETag)
+    static OffsetDateTime now() {
+        return OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,31 @@
+package com.assignment.taskmanager.reactive;
+
+import com.assignment.taskmanager.model.Task; // Generated API Model
+import com.assignment.taskmanager.model.TaskRequest; // Generated API Model
+
+// Mapping between the R2DBC row and the generated API models
+final class TaskRowMapper {
+
+    private TaskRowMapper() {
+    }
+
+    static Task toDto(TaskRow row) {
+        Task dto = new Task();
+        dto.setId(row.getId());
+        dto.setTitle(row.getTitle());
+        dto.setDescription(row.getDescription());
+        dto.setCompleted(row.isCompleted());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setVersion(row.getVersion());
+        return dto;
+    }
+
+    static TaskRow toRow(TaskRequest dto) {
+        TaskRow row = new TaskRow();
+        row.setTitle(dto.getTitle());
+        row.setDescription(dto.getDescription());
+        row.setCompleted(Boolean.TRUE.equals(dto.getCompleted()));
+        return row;
+    }
+}
@@ -0,0 +1,45 @@
+-- Schema of the servlet variant on H2 (tests, load tests). The same tables as on MySQL, in H2 types;
+-- there is no full-text index, GET /tasks/search falls back to LIKE here.
+
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_entity (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(1000),
+    completed   BOOLEAN       NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    version     BIGINT        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_task_completed_updated_at ON task_entity (completed, updated_at, id);
+CREATE INDEX idx_task_updated_at ON task_entity (updated_at, id);
+CREATE INDEX idx_task_created_at ON task_entity (created_at, id);
+CREATE INDEX idx_task_title ON task_entity (title, id);
+
+CREATE TABLE task_event_entity (
+    id         BIGINT NOT NULL,
+    task_id    BIGINT,
+    type       ENUM('CREATED', 'UPDATED', 'DELETED'),
+    created_at TIMESTAMP(6),
+    seq        BIGINT,
+    version    BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX idx_task_event_seq ON task_event_entity (seq);
+
+CREATE TABLE idempotency_key_entity (
+    idempotency_key VARCHAR(300) NOT NULL,
+    request_hash    VARCHAR(64),
+    status          INTEGER      NOT NULL,
+    etag            VARCHAR(255),
+    body            CLOB,
+    created_at      TIMESTAMP(6),
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key_entity (created_at);
@@ -0,0 +1,9 @@
+-- The relay's counter, as on MySQL (V4__task_event_relay_counter.sql)
+
+CREATE TABLE task_event_relay (
+    id       INTEGER NOT NULL,
+    last_seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO task_event_relay (id, last_seq) SELECT 1, COALESCE(MAX(seq), 0) FROM task_event_entity;
@@ -0,0 +1,5 @@
+-- As on MySQL (V5__completed_keyset_indexes.sql)
+
+CREATE INDEX idx_task_completed_id ON task_entity (completed, id);
+CREATE INDEX idx_task_completed_created_at ON task_entity (completed, created_at, id);
+CREATE INDEX idx_task_completed_title ON task_entity (completed, title, id);
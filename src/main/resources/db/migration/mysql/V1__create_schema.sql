@@ -0,0 +1,57 @@
+-- Schema of the servlet variant on MySQL. Hibernate only validates it (ddl-auto=validate).
+-- IF NOT EXISTS: a database created by ddl-auto=update before these migrations is adopted as it
+-- is (baseline-on-migrate), brought to these column types by V2 and given ID generators above its
+-- existing IDs by V3.
+
+-- Pooled ID generators: MySQL has no sequences, so Hibernate keeps next_val in a one-row table
+CREATE TABLE IF NOT EXISTS task_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+INSERT INTO task_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM task_seq);
+
+CREATE TABLE IF NOT EXISTS task_event_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+INSERT INTO task_event_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM task_event_seq);
+
+-- Lengths as in openapi.yaml; timestamps are UTC with microseconds, as TaskEntity.now() truncates them
+CREATE TABLE IF NOT EXISTS task_entity (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(1000),
+    completed   BIT(1)        NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    version     BIGINT        NOT NULL,
+    PRIMARY KEY (id),
+    -- One index per filter of GET /tasks, each ending in id for keyset paging
+    INDEX idx_task_completed_updated_at (completed, updated_at, id),
+    INDEX idx_task_updated_at (updated_at, id),
+    INDEX idx_task_created_at (created_at, id),
+    INDEX idx_task_title (title, id),
+    -- GET /tasks/search
+    FULLTEXT INDEX ft_task_title_description (title, description)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS task_event_entity (
+    id         BIGINT      NOT NULL,
+    task_id    BIGINT,
+    type       ENUM('CREATED', 'UPDATED', 'DELETED'),
+    created_at DATETIME(6),
+    seq        BIGINT,
+    version    BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    -- seq is null until relayed; the same index serves "seq is null" and "seq > ?"
+    UNIQUE INDEX idx_task_event_seq (seq)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS idempotency_key_entity (
+    idempotency_key VARCHAR(300) NOT NULL,
+    request_hash    VARCHAR(64),
+    status          INT          NOT NULL,
+    etag            VARCHAR(255),
+    body            LONGTEXT,
+    created_at      DATETIME(6),
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_key_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
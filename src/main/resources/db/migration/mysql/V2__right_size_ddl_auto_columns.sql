@@ -0,0 +1,85 @@
+-- Brings a schema that ddl-auto=update created to the columns and indexes of V1; on a database V1
+-- created, every statement leaves the tables as they are. The first releases created task_entity
+-- alone, with an AUTO_INCREMENT id and no version column or secondary index; the other tables are
+-- then new and come from V1. Each ALTER rebuilds its table, so on a large task_entity this runs for a
+-- while on the first start. MySQL has no ADD COLUMN or CREATE INDEX IF NOT EXISTS, so the statements
+-- that only an old schema needs are prepared from an information_schema check.
+
+-- Existing tasks start at version 0
+SET @add_version = IF(
+    (SELECT COUNT(*) FROM information_schema.columns
+     WHERE table_schema = DATABASE() AND table_name = 'task_entity' AND column_name = 'version') = 0,
+    'ALTER TABLE task_entity ADD COLUMN version BIGINT NOT NULL DEFAULT 0',
+    'DO 0');
+PREPARE add_version FROM @add_version;
+EXECUTE add_version;
+DEALLOCATE PREPARE add_version;
+
+-- Conversions from TIMESTAMP columns happen in UTC, the zone the values were written in
+SET @previous_time_zone = @@session.time_zone;
+SET time_zone = '+00:00';
+
+-- IDs come from task_seq (V3 moves it past the AUTO_INCREMENT ones)
+ALTER TABLE task_entity
+    MODIFY id          BIGINT      NOT NULL,
+    MODIFY title       VARCHAR(255),
+    MODIFY description VARCHAR(1000),
+    MODIFY completed   BIT(1)      NOT NULL,
+    MODIFY created_at  DATETIME(6),
+    MODIFY updated_at  DATETIME(6);
+
+ALTER TABLE task_event_entity
+    MODIFY type       ENUM('CREATED', 'UPDATED', 'DELETED'),
+    MODIFY created_at DATETIME(6);
+
+ALTER TABLE idempotency_key_entity
+    MODIFY created_at DATETIME(6);
+
+SET time_zone = @previous_time_zone;
+
+-- The indexes of GET /tasks; later ddl-auto=update releases created them from TaskEntity
+SET @create_index = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'task_entity' AND index_name = 'idx_task_completed_updated_at') = 0,
+    'CREATE INDEX idx_task_completed_updated_at ON task_entity (completed, updated_at, id)',
+    'DO 0');
+PREPARE create_index FROM @create_index;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
+
+SET @create_index = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'task_entity' AND index_name = 'idx_task_updated_at') = 0,
+    'CREATE INDEX idx_task_updated_at ON task_entity (updated_at, id)',
+    'DO 0');
+PREPARE create_index FROM @create_index;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
+
+SET @create_index = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'task_entity' AND index_name = 'idx_task_created_at') = 0,
+    'CREATE INDEX idx_task_created_at ON task_entity (created_at, id)',
+    'DO 0');
+PREPARE create_index FROM @create_index;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
+
+SET @create_index = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'task_entity' AND index_name = 'idx_task_title') = 0,
+    'CREATE INDEX idx_task_title ON task_entity (title, id)',
+    'DO 0');
+PREPARE create_index FROM @create_index;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
+
+-- Earlier releases created the full-text index on startup
+SET @create_fulltext = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'task_entity' AND index_name = 'ft_task_title_description') = 0,
+    'CREATE FULLTEXT INDEX ft_task_title_description ON task_entity (title, description)',
+    'DO 0');
+PREPARE create_fulltext FROM @create_fulltext;
+EXECUTE create_fulltext;
+DEALLOCATE PREPARE create_fulltext;
@@ -0,0 +1,9 @@
+-- On a database adopted from ddl-auto=update the IDs in use came from AUTO_INCREMENT, or from a
+-- task_seq that Hibernate created with next_val 1, so V1 left the generators below them. The pooled
+-- optimizer hands out the 50 IDs up to the next_val it reads, which therefore has to be at least the
+-- highest ID plus the allocation size. A generator that is already further is left where it is.
+UPDATE task_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM task_entity));
+
+UPDATE task_event_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM task_event_entity));
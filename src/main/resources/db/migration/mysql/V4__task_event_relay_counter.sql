@@ -0,0 +1,10 @@
+-- The relay's counter: the last sequence number handed out, and the row a relay locks while it
+-- numbers events, so relays on several instances take turns. Continues from the events relayed so far.
+
+CREATE TABLE task_event_relay (
+    id       INT    NOT NULL,
+    last_seq BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO task_event_relay (id, last_seq) SELECT 1, COALESCE(MAX(seq), 0) FROM task_event_entity;
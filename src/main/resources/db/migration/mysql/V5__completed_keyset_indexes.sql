@@ -0,0 +1,7 @@
+-- GET /tasks with completed is ordered by completed, then the filtered column (or the ID alone), so
+-- each combination gets an index in that order and a page is read without sorting the matches.
+-- (completed, updated_at, id) exists since V1.
+
+CREATE INDEX idx_task_completed_id ON task_entity (completed, id);
+CREATE INDEX idx_task_completed_created_at ON task_entity (completed, created_at, id);
+CREATE INDEX idx_task_completed_title ON task_entity (completed, title, id);
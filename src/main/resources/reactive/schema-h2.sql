@@ -0,0 +1,23 @@
+-- Schema of the reactive variant on H2 (tests, local runs). Mirrors task_entity in the servlet
+-- variant's migrations (db/migration/h2), except that timestamps keep their offset, which R2DBC maps
+-- to OffsetDateTime; on MySQL the servlet variant's migrations own the schema.
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS task_entity (
+    id BIGINT NOT NULL,
+    title VARCHAR(255),
+    description VARCHAR(1000),
+    completed BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_completed_updated_at ON task_entity (completed, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_updated_at ON task_entity (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_created_at ON task_entity (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_title ON task_entity (title, id);
+CREATE INDEX IF NOT EXISTS idx_task_completed_id ON task_entity (completed, id);
+CREATE INDEX IF NOT EXISTS idx_task_completed_created_at ON task_entity (completed, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_completed_title ON task_entity (completed, title, id);
@@ -0,0 +1,18 @@
+package com.assignment.taskmanager;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// The number of SQL statements (round trips; a JDBC batch is one) the test method runs on its own
+// thread, MockMvc requests included. @BeforeEach and @AfterEach are not counted.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementCountExtension.class)
+public @interface ExpectedStatements {
+
+    int value();
+}
@@ -0,0 +1,103 @@
+package com.assignment.taskmanager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Upgrade of a database that the first release created with ddl-auto=update: the container starts
+// with that schema and 120 tasks, and the application adopts it through the MySQL migrations on startup.
+// Needs Docker; skipped without it.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class MySqlMigrationTest {
+
+    private static final long LEGACY_ROWS = 120;
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withInitScript("db/legacy/ddl-auto-update-mysql.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testAdoptedDatabase_IsMigratedAndValidated() {
+        // Then - the context started, so Hibernate validated the migrated schema
+        assertThat(jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class))
+                .containsExactly("0", "1", "2", "3", "4", "5");
+        assertThat(jdbcTemplate.queryForObject(
+                "select data_type from information_schema.columns "
+                        + "where table_schema = database() and table_name = 'task_entity' and column_name = 'created_at'",
+                String.class)).isEqualTo("datetime");
+        assertThat(jdbcTemplate.queryForObject(
+                "select is_nullable from information_schema.columns "
+                        + "where table_schema = database() and table_name = 'task_entity' and column_name = 'version'",
+                String.class)).isEqualTo("NO");
+        assertThat(jdbcTemplate.queryForList(
+                "select distinct index_name from information_schema.statistics "
+                        + "where table_schema = database() and table_name = 'task_entity'", String.class))
+                .contains("idx_task_completed_updated_at", "idx_task_updated_at", "idx_task_created_at",
+                        "idx_task_title", "idx_task_completed_id", "idx_task_completed_created_at",
+                        "idx_task_completed_title", "ft_task_title_description");
+        assertThat(jdbcTemplate.queryForObject(
+                "select extra from information_schema.columns "
+                        + "where table_schema = database() and table_name = 'task_entity' and column_name = 'id'",
+                String.class)).doesNotContain("auto_increment");
+        assertThat(taskRepository.findViewById(1L)).hasValueSatisfying(task -> {
+            assertThat(task.title()).isEqualTo("Legacy 1");
+            assertThat(task.version()).isZero();
+        });
+    }
+
+    @Test
+    void testAdoptedDatabase_NewIdsAreAboveTheExistingOnes() {
+        // When - more than one allocation block of tasks, and events in the table V1 created
+        List<TaskEntity> tasks = new ArrayList<>();
+        List<TaskEventEntity> events = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setTitle("New " + i);
+            task.setDescription("Description");
+            tasks.add(task);
+            TaskEventEntity event = new TaskEventEntity();
+            event.setType(TaskEventEntity.Type.CREATED);
+            event.setCreatedAt(ZonedDateTime.now());
+            events.add(event);
+        }
+        List<TaskEntity> saved = taskRepository.saveAll(tasks);
+        List<TaskEventEntity> savedEvents = taskEventRepository.saveAll(events);
+
+        // Then
+        assertThat(saved).extracting(TaskEntity::getId).allMatch(id -> id > LEGACY_ROWS).doesNotHaveDuplicates();
+        assertThat(savedEvents).extracting(TaskEventEntity::getId).doesNotHaveDuplicates();
+        assertThat(taskRepository.count()).isGreaterThanOrEqualTo(LEGACY_ROWS + 60);
+    }
+}
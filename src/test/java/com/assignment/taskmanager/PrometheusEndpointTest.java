@@ -0,0 +1,67 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The test properties replace application.properties, so the metrics settings are repeated here
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "management.observations.annotations.enabled=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testScrape_HasOperationTimersAndPoolHibernateJvmAndRepositoryMeters() throws Exception {
+        // Given
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Measured");
+        request.setDescription("Description");
+        request.setCompleted(false);
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/tasks/{id}", 999_999))
+                .andExpect(status().isNotFound());
+
+        // When
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then - request timers per operation and status, with buckets
+        assertThat(scrape).containsPattern("http_server_requests_seconds_bucket\\{[^}]*operation=\"createTask\"[^}]*status=\"201\"");
+        assertThat(scrape).containsPattern("http_server_requests_seconds_count\\{[^}]*operation=\"getTaskById\"[^}]*status=\"404\"");
+        assertThat(scrape).containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*repository=\"TaskRepository\"");
+        assertThat(scrape).contains("hikaricp_connections_active", "hikaricp_connections_acquire_seconds");
+        assertThat(scrape).contains("hibernate_query_executions_total", "hibernate_entities_inserts_total");
+        assertThat(scrape).contains("jvm_gc_memory_allocated_bytes_total", "jvm_memory_used_bytes");
+
+        // The controller, repository and serialization observations are spans only
+        assertThat(scrape).doesNotContain("taskmanager_controller", "taskmanager_repository",
+                "taskmanager_serialization", "method_observed");
+    }
+}
@@ -0,0 +1,67 @@
+package com.assignment.taskmanager;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("l2cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindById_IsServedFromSecondLevelCache() {
+        // Given
+        TaskEntity task = new TaskEntity();
+        task.setTitle("Cached");
+        task.setDescription("Second-level cache");
+        Long id = taskRepository.save(task).getId();
+
+        // When - each call runs in its own persistence context
+        taskRepository.findById(id);
+        taskRepository.findById(id);
+
+        // Then
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        assertThat(statistics.getDomainDataRegionStatistics("tasks").getHitCount()).isPositive();
+    }
+
+    @Test
+    void testCountByCompleted_IsServedFromQueryCache() {
+        // Given
+        TaskEntity task = new TaskEntity();
+        task.setTitle("Counted");
+        task.setDescription("Query cache");
+        taskRepository.save(task);
+
+        // When
+        long first = taskRepository.countByCompleted(false);
+        long second = taskRepository.countByCompleted(false);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,31 @@
+package com.assignment.taskmanager;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks @ExpectedStatements: fails the test when a change adds (or saves) round trips, and lists
+// the statements that did run
+class SqlStatementCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlStatementCountExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), SqlStatementMonitor.open(true));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementMonitor.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlStatementMonitor.Scope.class);
+        scope.close();
+        int expected = AnnotationSupport.findAnnotation(context.getTestMethod(), ExpectedStatements.class)
+                .orElseThrow().value();
+        assertThat(scope.statements())
+                .as("SQL statements run:%n%s", String.join(System.lineSeparator(), scope.sql()))
+                .isEqualTo(expected);
+    }
+}
@@ -0,0 +1,151 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskBatchResult;
+import com.assignment.taskmanager.model.TaskBatchUpdate;
+import com.assignment.taskmanager.model.TaskRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({TaskBatchService.class, TaskOutbox.class})
+class TaskBatchServiceTest {
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Test
+    void testCreateAll_PersistsEveryItemInOrder() {
+        // Given - more items than one JDBC batch
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(request("Task " + i));
+        }
+
+        // When
+        List<TaskBatchResult> results = taskBatchService.createAll(requests);
+
+        // Then
+        assertThat(results).hasSize(120);
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.getStatus()).isEqualTo(201);
+            assertThat(result.getId()).isNotNull();
+            assertThat(result.getTask().getCreatedAt()).isNotNull();
+        });
+        assertThat(results.get(7).getIndex()).isEqualTo(7);
+        assertThat(results.get(7).getTask().getTitle()).isEqualTo("Task 7");
+        assertThat(taskRepository.count()).isEqualTo(120);
+    }
+
+    @Test
+    void testUpdateAll_ReportsMissingItems() {
+        // Given
+        TaskEntity existing = taskRepository.save(TaskMapper.toEntity(request("Before")));
+        TaskBatchUpdate found = new TaskBatchUpdate()
+                .id(existing.getId()).title("After").description("Updated").completed(true);
+        TaskBatchUpdate missing = new TaskBatchUpdate()
+                .id(existing.getId() + 1000).title("Ghost").description("Missing").completed(true);
+
+        // When
+        List<TaskBatchResult> results = taskBatchService.updateAll(List.of(found, missing)).results();
+
+        // Then
+        assertThat(results).extracting(TaskBatchResult::getStatus).containsExactly(200, 404);
+        assertThat(results.get(0).getTask().getTitle()).isEqualTo("After");
+        assertThat(results.get(1).getTask()).isNull();
+        assertThat(taskRepository.findById(existing.getId()).orElseThrow().isCompleted()).isTrue();
+    }
+
+    @Test
+    void testUpdateAll_ReportsStaleVersions() {
+        // Given - the task has been written once since version 0
+        TaskEntity existing = taskRepository.saveAndFlush(TaskMapper.toEntity(request("Before")));
+        taskRepository.updateTaskById(existing.getId(), "Changed", "Description", false, TaskEntity.now());
+        TaskBatchUpdate stale = new TaskBatchUpdate()
+                .id(existing.getId()).title("Stale").description("Lost update").completed(true).version(0L);
+
+        // When
+        List<TaskBatchResult> results = taskBatchService.updateAll(List.of(stale)).results();
+
+        // Then
+        assertThat(results).extracting(TaskBatchResult::getStatus).containsExactly(409);
+        TaskEntity stored = taskRepository.findById(existing.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Changed");
+        assertThat(stored.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateAll_LeavesUnchangedItemsAlone() {
+        // Given
+        TaskEntity same = taskRepository.saveAndFlush(TaskMapper.toEntity(request("Same")));
+        TaskEntity other = taskRepository.saveAndFlush(TaskMapper.toEntity(request("Other")));
+        TaskBatchUpdate unchanged = new TaskBatchUpdate()
+                .id(same.getId()).title("Same").description("Description").completed(false);
+        TaskBatchUpdate changed = new TaskBatchUpdate()
+                .id(other.getId()).title("Other").description("Description").completed(true);
+
+        // When
+        TaskBatchService.Updated updated = taskBatchService.updateAll(List.of(unchanged, changed));
+
+        // Then - both succeed, but only the changed one is written and recorded
+        assertThat(updated.results()).extracting(TaskBatchResult::getStatus).containsExactly(200, 200);
+        assertThat(updated.results().get(0).getTask().getVersion()).isZero();
+        assertThat(updated.changedIds()).containsExactly(other.getId());
+        assertThat(taskRepository.findById(same.getId()).orElseThrow().getVersion()).isZero();
+        assertThat(taskEventRepository.findAll()).extracting(TaskEventEntity::getTaskId)
+                .containsExactly(other.getId());
+    }
+
+    @Test
+    void testDeleteAll_ReportsMissingItems() {
+        // Given
+        TaskEntity first = taskRepository.save(TaskMapper.toEntity(request("First")));
+        TaskEntity second = taskRepository.save(TaskMapper.toEntity(request("Second")));
+
+        // When
+        List<TaskBatchResult> results = taskBatchService.deleteAll(
+                List.of(first.getId(), second.getId() + 1000, second.getId()));
+
+        // Then
+        assertThat(results).extracting(TaskBatchResult::getStatus).containsExactly(204, 404, 204);
+        assertThat(taskRepository.count()).isZero();
+        // One outbox event per deleted task, none for the missing one
+        assertThat(taskEventRepository.findAll()).extracting(TaskEventEntity::getTaskId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void testSetCompletedAll_ReportsMissingItems() {
+        // Given
+        TaskEntity first = taskRepository.save(TaskMapper.toEntity(request("First")));
+        TaskEntity second = taskRepository.save(TaskMapper.toEntity(request("Second")));
+
+        // When
+        List<TaskBatchResult> results = taskBatchService.setCompletedAll(
+                List.of(first.getId(), second.getId() + 1000, second.getId()), true);
+
+        // Then
+        assertThat(results).extracting(TaskBatchResult::getStatus).containsExactly(200, 404, 200);
+        assertThat(taskRepository.countByCompleted(true)).isEqualTo(2);
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Description");
+        request.setCompleted(false);
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private final TaskCache taskCache = new TaskCache(100, Duration.ofMinutes(5));
+
+    @Test
+    void testGet_LoadsOnceThenHits() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        taskCache.get(1L, id -> { loads.incrementAndGet(); return Optional.of(task(id)); });
+        Optional<Task> cached = taskCache.get(1L, id -> { loads.incrementAndGet(); return Optional.of(task(id)); });
+
+        // Then
+        assertThat(cached).map(Task::getId).contains(1L);
+        assertThat(loads).hasValue(1);
+        assertThat(taskCache.stats().hitCount()).isEqualTo(1);
+        assertThat(taskCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testGet_DoesNotCacheMissingTasks() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        taskCache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<Task> result = taskCache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testInvalidate_ForcesReload() {
+        // Given
+        taskCache.get(1L, id -> Optional.of(task(id)));
+        taskCache.get(2L, id -> Optional.of(task(id)));
+
+        // When
+        taskCache.invalidate(1L);
+        taskCache.invalidateAll(List.of(2L));
+
+        // Then
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.get(1L, id -> { loads.incrementAndGet(); return Optional.of(task(id)); });
+        taskCache.get(2L, id -> { loads.incrementAndGet(); return Optional.of(task(id)); });
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testInvalidate_DuringLoad_DropsLoadedValue() {
+        // Given - a write invalidates the key while its load is still reading the old row
+        Optional<Task> stale = taskCache.get(1L, id -> {
+            taskCache.invalidate(id);
+            return Optional.of(task(id));
+        });
+
+        // When
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.get(1L, id -> { loads.incrementAndGet(); return Optional.of(task(id)); });
+
+        // Then - the caller that started the load still gets its result, but it was never stored
+        assertThat(stale).isPresent();
+        assertThat(loads).hasValue(1);
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        return task;
+    }
+}
@@ -0,0 +1,265 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.TaskChangeBroadcaster.OverflowPolicy;
+import com.assignment.taskmanager.model.TaskChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeBroadcasterTest {
+
+    private static final int SUBSCRIBERS = 2_000;
+    private static final int BATCHES = 20;
+    private static final int BATCH_SIZE = 50;
+
+    private final FakeOutbox outbox = new FakeOutbox();
+
+    @Test
+    void testThousandsOfSubscribers_EachGetEveryChangeOnceAndInOrder() throws Exception {
+        try (TaskChangeBroadcaster broadcaster = broadcaster(1_000, OverflowPolicy.DISCONNECT)) {
+            // Given - half subscribe before the first change and half midway, so both the catch-up
+            // from the table and the switch to live delivery are exercised
+            List<RecordingEmitter> emitters = new ArrayList<>();
+            for (int batch = 0; batch < BATCHES; batch++) {
+                if (batch == 0 || batch == BATCHES / 2) {
+                    for (int i = 0; i < SUBSCRIBERS / 2; i++) {
+                        RecordingEmitter emitter = new RecordingEmitter(null, Duration.ZERO);
+                        broadcaster.subscribe(emitter, 0L);
+                        emitters.add(emitter);
+                    }
+                }
+                // When
+                relay(broadcaster, BATCH_SIZE);
+            }
+
+            // Then
+            await(() -> emitters.stream().allMatch(emitter -> emitter.received() == BATCHES * BATCH_SIZE));
+            assertThat(emitters).allSatisfy(emitter -> assertThat(emitter.inOrder()).isTrue());
+            assertThat(broadcaster.overflowCount()).isZero();
+            assertThat(broadcaster.subscriberCount()).isEqualTo(SUBSCRIBERS);
+        }
+    }
+
+    @Test
+    void testStuckSubscriber_IsDisconnectedWithoutHoldingUpTheRelay() throws Exception {
+        try (TaskChangeBroadcaster broadcaster = broadcaster(100, OverflowPolicy.DISCONNECT)) {
+            // Given
+            RecordingEmitter stuck = new RecordingEmitter(new CountDownLatch(1), Duration.ZERO);
+            broadcaster.subscribe(stuck, null);
+            List<RecordingEmitter> others = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                RecordingEmitter emitter = new RecordingEmitter(null, Duration.ZERO);
+                broadcaster.subscribe(emitter, null);
+                others.add(emitter);
+            }
+            await(() -> broadcaster.liveCount() == 101);
+
+            // When
+            long slowestPublish = 0;
+            for (int batch = 0; batch < BATCHES; batch++) {
+                slowestPublish = Math.max(slowestPublish, relay(broadcaster, BATCH_SIZE));
+            }
+
+            // Then
+            await(stuck::completed);
+            await(() -> others.stream().allMatch(emitter -> emitter.received() == BATCHES * BATCH_SIZE));
+            assertThat(TimeUnit.NANOSECONDS.toMillis(slowestPublish)).isLessThan(100);
+            assertThat(broadcaster.overflowCount()).isEqualTo(1);
+            assertThat(broadcaster.subscriberCount()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void testSlowTableReads_DoNotHoldUpTheRelay() throws Exception {
+        try (TaskChangeBroadcaster broadcaster = broadcaster(1_000, OverflowPolicy.DISCONNECT)) {
+            // Given - every catch-up read takes 50ms, and subscribers go live while the relay publishes
+            outbox.readDelay = Duration.ofMillis(50);
+            List<RecordingEmitter> emitters = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                RecordingEmitter emitter = new RecordingEmitter(null, Duration.ZERO);
+                broadcaster.subscribe(emitter, 0L);
+                emitters.add(emitter);
+            }
+
+            // When
+            long slowestPublish = 0;
+            for (int batch = 0; batch < BATCHES; batch++) {
+                slowestPublish = Math.max(slowestPublish, relay(broadcaster, BATCH_SIZE));
+            }
+
+            // Then - no read runs under a subscriber's lock, so offering never waits for one
+            await(() -> emitters.stream().allMatch(emitter -> emitter.received() == BATCHES * BATCH_SIZE));
+            assertThat(emitters).allSatisfy(emitter -> assertThat(emitter.inOrder()).isTrue());
+            assertThat(TimeUnit.NANOSECONDS.toMillis(slowestPublish)).isLessThan(50);
+        }
+    }
+
+    @Test
+    void testSlowSubscriber_CatchesUpFromTheTable() throws Exception {
+        try (TaskChangeBroadcaster broadcaster = broadcaster(10, OverflowPolicy.CATCH_UP)) {
+            // Given - consumes about 1k changes/s against 10k/s offered
+            RecordingEmitter slow = new RecordingEmitter(null, Duration.ofMillis(1));
+            broadcaster.subscribe(slow, null);
+            await(() -> broadcaster.liveCount() == 1);
+
+            // When
+            for (int batch = 0; batch < BATCHES; batch++) {
+                relay(broadcaster, BATCH_SIZE);
+            }
+
+            // Then - nothing lost and still subscribed
+            await(() -> slow.received() == BATCHES * BATCH_SIZE);
+            assertThat(slow.inOrder()).isTrue();
+            assertThat(slow.completed()).isFalse();
+            assertThat(broadcaster.overflowCount()).isPositive();
+            assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testSubscribe_ResumesAfterTheGivenSequenceNumber() throws Exception {
+        try (TaskChangeBroadcaster broadcaster = broadcaster(1_000, OverflowPolicy.DISCONNECT)) {
+            // Given
+            relay(broadcaster, 100);
+
+            // When
+            RecordingEmitter resumed = new RecordingEmitter(null, Duration.ZERO);
+            broadcaster.subscribe(resumed, 60L);
+            relay(broadcaster, 50);
+
+            // Then
+            await(() -> resumed.received() == 90);
+            assertThat(resumed.firstSeq()).isEqualTo(61L);
+            assertThat(resumed.inOrder()).isTrue();
+        }
+    }
+
+    private TaskChangeBroadcaster broadcaster(int bufferSize, OverflowPolicy overflowPolicy) {
+        return new TaskChangeBroadcaster(outbox, 500, bufferSize, overflowPolicy, Duration.ofSeconds(15), Duration.ofMinutes(30));
+    }
+
+    // Commits a batch to the table, then publishes it as the relay does; paced like a busy relay.
+    // Returns how long publishing took.
+    private long relay(TaskChangeBroadcaster broadcaster, int size) throws InterruptedException {
+        List<TaskChange> batch = outbox.append(size);
+        long start = System.nanoTime();
+        broadcaster.publish(batch);
+        long elapsed = System.nanoTime() - start;
+        Thread.sleep(5);
+        return elapsed;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // The outbox table in memory
+    private static class FakeOutbox extends TaskOutbox {
+
+        private final List<TaskChange> table = new CopyOnWriteArrayList<>();
+        private volatile Duration readDelay = Duration.ZERO;
+
+        List<TaskChange> append(int size) {
+            List<TaskChange> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(new TaskChange().seq((long) table.size() + i + 1).type(TaskChange.TypeEnum.UPDATED).taskId(1L));
+            }
+            table.addAll(batch);
+            return batch;
+        }
+
+        @Override
+        public List<TaskChange> changesAfter(long seq, int limit) {
+            try {
+                Thread.sleep(readDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // A sender being cancelled
+            }
+            return table.stream().filter(change -> change.getSeq() > seq).limit(limit).toList();
+        }
+
+        @Override
+        public long latestSeq() {
+            return table.size();
+        }
+    }
+
+    // A client connection: records what it receives, optionally slow or stuck on the first change
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch stuckUntil;
+        private final Duration delay;
+        private long firstSeq;
+        private long lastSeq;
+        private int received;
+        private boolean inOrder = true;
+        private boolean completed;
+
+        RecordingEmitter(CountDownLatch stuckUntil, Duration delay) {
+            this.stuckUntil = stuckUntil;
+            this.delay = delay;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof TaskChange change) {
+                    try {
+                        if (stuckUntil != null) {
+                            stuckUntil.await();
+                        }
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    record(change);
+                }
+            }
+        }
+
+        private synchronized void record(TaskChange change) {
+            if (received == 0) {
+                firstSeq = change.getSeq();
+            }
+            inOrder &= change.getSeq() > lastSeq;
+            lastSeq = change.getSeq();
+            received++;
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        synchronized int received() {
+            return received;
+        }
+
+        synchronized long firstSeq() {
+            return firstSeq;
+        }
+
+        synchronized boolean inOrder() {
+            return inOrder;
+        }
+
+        synchronized boolean completed() {
+            return completed;
+        }
+    }
+}
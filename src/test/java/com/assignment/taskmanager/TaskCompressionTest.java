@@ -0,0 +1,87 @@
+package com.assignment.taskmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compression over a real connection: MockMvc bypasses Tomcat, which compresses a response only if
+// it carries no strong ETag. The first GET /tasks is compressed by Tomcat, the repeat is a page
+// cache hit gzipped by TaskPageCacheFilter.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.cache.pages.enabled=true",
+        "taskmanager.cache.pages.expire-after-write=5m"
+})
+class TaskCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient(); // Leaves the body as sent
+
+    @BeforeEach
+    void setUp() {
+        // Well above server.compression.min-response-size
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setTitle("Task " + i);
+            task.setDescription("Description ".repeat(20));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testLargePage_IsGzippedWithWeakETag() throws Exception {
+        // When
+        HttpResponse<byte[]> first = getTasks();
+        HttpResponse<byte[]> cached = getTasks();
+
+        // Then
+        for (HttpResponse<byte[]> response : List.of(first, cached)) {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+            assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(etag ->
+                    assertThat(etag).startsWith("W/\""));
+            byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+            JsonNode tasks = objectMapper.readTree(body);
+            assertThat(tasks.size()).isEqualTo(100);
+        }
+        assertThat(cached.headers().firstValue(HttpHeaders.ETAG)).isEqualTo(first.headers().firstValue(HttpHeaders.ETAG));
+    }
+
+    private HttpResponse<byte[]> getTasks() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?limit=100"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -29,6 +29,7 @@ class TaskEntityTest {
         assertThat(newTask.getDescription()).isNull();
         assertThat(newTask.getCreatedAt()).isNull();
         assertThat(newTask.getUpdatedAt()).isNull();
+        assertThat(newTask.getVersion()).isZero();
     }
 
     @Test
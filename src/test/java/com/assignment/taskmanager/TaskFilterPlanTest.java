@@ -0,0 +1,104 @@
+package com.assignment.taskmanager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Index use of the statements GET /tasks actually sends: each query shape runs through
+// findViewPage, its SQL and bound values are captured by SqlStatementMonitor, and H2 explains
+// exactly that statement. Needs the full context for the datasource-proxy layer.
+@SpringBootTest
+class TaskFilterPlanTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Enough rows, spread over time, for the planner to prefer an index over a scan
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setTitle("Task " + i);
+            task.setDescription("Description");
+            task.setCompleted(i % 2 == 0);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        jdbcTemplate.update("UPDATE task_entity SET created_at = DATEADD('MINUTE', -id, CURRENT_TIMESTAMP), "
+                + "updated_at = DATEADD('MINUTE', -id, CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testFilterQueryShapes_ReadInIndexOrder() {
+        ZonedDateTime tenMinutesAgo = ZonedDateTime.now().minusMinutes(10);
+        ZonedDateTime now = ZonedDateTime.now();
+        String cursorTime = ZonedDateTime.now().minusMinutes(5).toOffsetDateTime().toString();
+
+        // Every combination of filters GET /tasks accepts, first page and with a cursor
+        List<TaskFilter> filters = List.of(
+                new TaskFilter(null, null, null, null, null, null),
+                new TaskFilter(false, null, null, null, null, null),
+                new TaskFilter(null, tenMinutesAgo, null, null, null, null),
+                new TaskFilter(null, null, now, null, null, null),
+                new TaskFilter(null, tenMinutesAgo, now, null, null, null),
+                new TaskFilter(null, null, null, tenMinutesAgo, null, null),
+                new TaskFilter(null, null, null, null, now, null),
+                new TaskFilter(null, null, null, null, null, "Task 4"),
+                new TaskFilter(true, tenMinutesAgo, null, null, null, null),
+                new TaskFilter(true, null, null, null, now, null),
+                new TaskFilter(false, null, null, tenMinutesAgo, null, null),
+                new TaskFilter(false, null, null, null, null, "Task 4"),
+                new TaskFilter(null, tenMinutesAgo, null, tenMinutesAgo, null, null),
+                new TaskFilter(null, null, null, tenMinutesAgo, null, "Task"),
+                new TaskFilter(false, tenMinutesAgo, now, tenMinutesAgo, now, "Task"));
+        for (TaskFilter filter : filters) {
+            String afterKey = filter.sortKey().equals("title") ? "Task 41" : cursorTime;
+            for (boolean descending : List.of(false, true)) {
+                Sort sort = filter.sort(descending);
+                if (!filter.equals(new TaskFilter(null, null, null, null, null, null))) {
+                    assertPlan(filter.toSpecification(), sort, descending); // Unfiltered, it reads the table in ID order
+                }
+                assertPlan(filter.toSpecification().and(filter.after(250L, afterKey, descending)), sort, descending);
+            }
+        }
+    }
+
+    // Ascending pages come straight out of the index; H2 cannot read an index backwards, so for
+    // descending ones the index only narrows the rows (MySQL reads it backwards)
+    private void assertPlan(Specification<TaskEntity> specification, Sort sort, boolean descending) {
+        String sql;
+        List<Object> parameters;
+        try (SqlStatementMonitor.Scope scope = SqlStatementMonitor.open(true)) {
+            taskRepository.findViewPage(specification, sort, TasksApiController.DEFAULT_PAGE_SIZE + 1);
+            assertThat(scope.sql()).hasSize(1);
+            sql = scope.sql().get(0);
+            parameters = scope.parameters().get(0);
+        }
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters.toArray());
+        assertThat(plan).as(sql).doesNotContain("tableScan");
+        if (!descending) {
+            assertThat(plan).as(sql).contains("index sorted");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.Task;
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each call commits, as it would in a request
+class TaskIdempotencyTest {
+
+    private static final TypeReference<Task> TASK = new TypeReference<>() {};
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Like the application's: ISO-8601 timestamps
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        idempotencyKeyRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRepeatedKey_ReplaysTheFirstResponseWithoutCreatingAgain() {
+        // Given
+        TaskIdempotency idempotency = idempotency();
+        TaskRequest request = request("Retried");
+        ResponseEntity<Task> first = idempotency.execute("createTask", "key-1", request, TASK, () -> create(request));
+
+        // When
+        ResponseEntity<Task> retry = idempotency.execute("createTask", "key-1", request, TASK, () -> create(request));
+
+        // Then - answered from memory
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(TaskIdempotency.REPLAYED)).isEqualTo("true");
+        assertThat(retry.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(creates).hasValue(1);
+
+        // After a restart the key is found in the table; the attempt to create again is rolled back
+        ResponseEntity<Task> afterRestart = idempotency().execute("createTask", "key-1", request, TASK, () -> create(request));
+        assertThat(afterRestart.getBody()).isEqualTo(first.getBody());
+        assertThat(afterRestart.getHeaders().getFirst(TaskIdempotency.REPLAYED)).isEqualTo("true");
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testKeyReusedForAnotherRequest_IsRefused() {
+        // Given
+        TaskIdempotency idempotency = idempotency();
+        TaskRequest request = request("First");
+        idempotency.execute("createTask", "key-2", request, TASK, () -> create(request));
+
+        // When
+        TaskRequest other = request("Second");
+        ResponseEntity<Task> response = idempotency.execute("createTask", "key-2", other, TASK, () -> create(other));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(taskRepository.count()).isEqualTo(1);
+
+        // The same key for another operation is a different key
+        idempotency.execute("createTasksBatch", "key-2", other, TASK, () -> create(other));
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testSameKeyFromManyThreadsOnTwoInstances_CreatesOnce() throws Exception {
+        // Given - two instances with their own in-memory layer, sharing the table
+        List<TaskIdempotency> instances = List.of(idempotency(), idempotency());
+        TaskRequest request = request("Raced");
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<ResponseEntity<Task>>> responses = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            TaskIdempotency instance = instances.get(t % 2);
+            responses.add(clients.submit(() -> {
+                start.await();
+                return instance.execute("createTask", "key-3", request, TASK, () -> create(request));
+            }));
+        }
+        start.countDown();
+        List<Task> tasks = new ArrayList<>();
+        for (Future<ResponseEntity<Task>> response : responses) {
+            assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            tasks.add(response.get().getBody());
+        }
+        clients.shutdown();
+
+        // Then
+        assertThat(tasks).extracting(Task::getId).containsOnly(tasks.get(0).getId());
+        assertThat(taskRepository.count()).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPurge_DeletesKeysPastTheRetentionPeriod() {
+        // Given
+        TaskIdempotency idempotency = idempotency();
+        TaskRequest request = request("Old");
+        idempotency.execute("createTask", "key-4", request, TASK, () -> create(request));
+        IdempotencyKeyEntity key = idempotencyKeyRepository.findById("createTask:key-4").orElseThrow();
+        key.setCreatedAt(key.getCreatedAt().minusDays(2));
+        idempotencyKeyRepository.save(key);
+
+        // When & Then
+        assertThat(idempotency.purge()).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.count()).isZero();
+    }
+
+    private TaskIdempotency idempotency() {
+        return new TaskIdempotency(idempotencyKeyRepository, transactionManager, objectMapper,
+                Duration.ofHours(24), DataSize.ofMegabytes(1));
+    }
+
+    // What POST /tasks does, inside the caller's transaction
+    private ResponseEntity<Task> create(TaskRequest request) {
+        creates.incrementAndGet();
+        TaskEntity saved = taskRepository.save(TaskMapper.toEntity(request));
+        Task task = TaskMapper.toDto(saved);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(TaskETags.of(task)).body(task);
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Description");
+        request.setCompleted(false);
+        return request;
+    }
+}
@@ -8,12 +8,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,10 +45,21 @@ class TaskManagerApplicationTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private TaskEventRelay taskEventRelay;
+
     @BeforeEach
     void setUp() {
         // Clean the database before each test to ensure isolation
         taskRepository.deleteAll();
+        taskEventRepository.deleteAllInBatch();
+        taskCache.invalidateAll();
     }
 
     @Test
@@ -242,4 +268,464 @@ class TaskManagerApplicationTests {
                 .andExpect(jsonPath("$.updatedAt").exists())
                 .andExpect(jsonPath("$.title", is("Updated Timestamp Test")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllTasks_KeysetPagination() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setTitle("Task " + i);
+            request.setDescription("Description " + i);
+            mockMvc.perform(post("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        // First page has a next link
+        MvcResult firstPage = mockMvc.perform(get("/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("Task 1")))
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andReturn();
+
+        Task[] tasks = objectMapper.readValue(firstPage.getResponse().getContentAsString(), Task[].class);
+
+        // Following the cursor returns the remainder and no further link
+        mockMvc.perform(get("/tasks")
+                .param("after", String.valueOf(tasks[1].getId()))
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Task 3")))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void testGetAllTasks_FiltersAndDescendingOrder() throws Exception {
+        String[][] tasks = {{"Report Q1", "true"}, {"Report Q2", "false"}, {"Shopping", "false"}, {"Report Q3", "false"}};
+        for (String[] task : tasks) {
+            TaskRequest request = new TaskRequest();
+            request.setTitle(task[0]);
+            request.setDescription("Description");
+            request.setCompleted(Boolean.parseBoolean(task[1]));
+            mockMvc.perform(post("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Open reports, newest first
+        mockMvc.perform(get("/tasks")
+                .param("completed", "false")
+                .param("titlePrefix", "Report")
+                .param("updatedAfter", "2000-01-01T00:00:00Z")
+                .param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("Report Q3")))
+                .andExpect(jsonPath("$[1].title", is("Report Q2")));
+
+        // Nothing was created in the future
+        mockMvc.perform(get("/tasks").param("createdAfter", "2999-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testExportTasks_StreamsOneJsonObjectPerLine() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setTitle("Task " + i);
+            request.setDescription("Description " + i);
+            mockMvc.perform(post("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[2], Task.class).getTitle()).isEqualTo("Task 3");
+    }
+
+    @Test
+    void testCachedReadsAreNeverStaleAfterWrites() throws Exception {
+        TaskRequest createRequest = new TaskRequest();
+        createRequest.setTitle("Version 0");
+        createRequest.setDescription("Cached task");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+
+        // Background readers keep the entry hot and race every write's invalidation
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            readers.submit(() -> {
+                while (running.get()) {
+                    mockMvc.perform(get("/tasks/" + taskId));
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (int version = 1; version <= 50; version++) {
+                TaskRequest updateRequest = new TaskRequest();
+                updateRequest.setTitle("Version " + version);
+                updateRequest.setDescription("Cached task");
+                mockMvc.perform(put("/tasks/" + taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                        .andExpect(status().isOk());
+
+                // A read issued after the write returned must observe it
+                mockMvc.perform(get("/tasks/" + taskId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.title", is("Version " + version)));
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+            assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        mockMvc.perform(delete("/tasks/" + taskId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/tasks/" + taskId))
+                .andExpect(status().isNotFound());
+        assertThat(taskCache.stats().hitCount()).isPositive();
+    }
+
+    @Test
+    void testConditionalRequests_ETagsTrackTheStoredRow() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Polled Task");
+        request.setDescription("Conditional requests");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+        String createdETag = createResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The tag returned on create is the one the stored row gives
+        mockMvc.perform(get("/tasks/" + taskId).header(HttpHeaders.IF_NONE_MATCH, createdETag))
+                .andExpect(status().isNotModified());
+
+        // A write with the current tag succeeds and returns the next one
+        request.setTitle("Polled Task v2");
+        String updatedETag = mockMvc.perform(put("/tasks/" + taskId)
+                        .header(HttpHeaders.IF_MATCH, createdETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(createdETag);
+
+        // The old tag is now stale for reads and writes
+        mockMvc.perform(get("/tasks/" + taskId).header(HttpHeaders.IF_NONE_MATCH, createdETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Polled Task v2")));
+        mockMvc.perform(delete("/tasks/" + taskId).header(HttpHeaders.IF_MATCH, createdETag))
+                .andExpect(status().isPreconditionFailed());
+
+        // The list tag changes with the page
+        String pageETag = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, pageETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(delete("/tasks/" + taskId).header(HttpHeaders.IF_MATCH, updatedETag))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, pageETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testPatchTask_LeavesOtherFieldsAlone() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Patched Task");
+        request.setDescription("Kept as is");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Task created = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class);
+
+        // Only completed changes; the version moves on
+        mockMvc.perform(patch("/tasks/" + created.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"completed\": true, \"version\": " + created.getVersion() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Patched Task")))
+                .andExpect(jsonPath("$.description", is("Kept as is")))
+                .andExpect(jsonPath("$.completed", is(true)))
+                .andExpect(jsonPath("$.version", is((int) (created.getVersion() + 1))));
+
+        // Replaying the same patch is now stale
+        mockMvc.perform(patch("/tasks/" + created.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"completed\": true, \"version\": " + created.getVersion() + "}"))
+                .andExpect(status().isConflict());
+
+        // Bulk form: already-completed and missing IDs are reported, not failed
+        mockMvc.perform(patch("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + created.getId() + ", 999999], \"completed\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[1].status", is(404)));
+        mockMvc.perform(get("/tasks/" + created.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(false)));
+    }
+
+    @Test
+    void testConcurrentVersionedUpdates_LoseNoIncrements() throws Exception {
+        TaskRequest createRequest = new TaskRequest();
+        createRequest.setTitle("0");
+        createRequest.setDescription("Shared counter");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+
+        // Every thread increments the counter in the title with read-modify-write, sending the version it
+        // read; a 409 means another thread won, so it re-reads and tries again
+        int threads = 8;
+        int incrementsPerThread = 25;
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(writers.submit(() -> {
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    while (true) {
+                        Task current = objectMapper.readValue(mockMvc.perform(get("/tasks/" + taskId))
+                                .andReturn().getResponse().getContentAsString(), Task.class);
+                        TaskRequest increment = new TaskRequest();
+                        increment.setTitle(String.valueOf(Integer.parseInt(current.getTitle()) + 1));
+                        increment.setDescription(current.getDescription());
+                        increment.setVersion(current.getVersion());
+                        int status = mockMvc.perform(put("/tasks/" + taskId)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(increment)))
+                                .andReturn().getResponse().getStatus();
+                        if (status == 200) {
+                            break;
+                        }
+                        assertThat(status).isEqualTo(409);
+                    }
+                }
+                return null;
+            }));
+        }
+        writers.shutdown();
+        assertThat(writers.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        int total = threads * incrementsPerThread;
+        mockMvc.perform(get("/tasks/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is(String.valueOf(total))))
+                .andExpect(jsonPath("$.version", is(total)));
+    }
+
+    @Test
+    void testChangeStream_ReplaysThenFollowsWrites() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Streamed Task");
+        request.setDescription("Change events");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+        taskEventRelay.relay();
+
+        // The create happened before subscribing and is replayed from the outbox
+        MvcResult stream = mockMvc.perform(get("/tasks/changes?since=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitStreamContaining(stream, "id:1");
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("\"type\":\"CREATED\"")
+                .contains("\"title\":\"Streamed Task\"");
+
+        // Later writes arrive live once relayed
+        mockMvc.perform(delete("/tasks/" + taskId))
+                .andExpect(status().isNoContent());
+        taskEventRelay.relay();
+        awaitStreamContaining(stream, "id:2");
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("\"type\":\"DELETED\"")
+                .doesNotContain("id:3");
+    }
+
+    @Test
+    void testCreateTaskAsync_IsWrittenBehindWithTheReturnedId() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Queued Task");
+        request.setDescription("Written behind");
+        MvcResult accepted = mockMvc.perform(post("/tasks")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andReturn();
+        Task queued = objectMapper.readValue(accepted.getResponse().getContentAsString(), Task.class);
+
+        // A synchronous create meanwhile gets another ID from the same generator
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", not(is(queued.getId().intValue()))));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!taskRepository.existsById(queued.getId())) {
+            assertThat(System.nanoTime()).as("waiting for the queued task").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        Task stored = objectMapper.readValue(mockMvc.perform(get("/tasks/" + queued.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsString(), Task.class);
+        assertThat(stored.getTitle()).isEqualTo("Queued Task");
+        assertThat(stored.getCreatedAt().toInstant()).isEqualTo(queued.getCreatedAt().toInstant());
+        assertThat(taskEventRepository.findAll())
+                .anyMatch(event -> event.getTaskId().equals(queued.getId()) && event.getType() == TaskEventEntity.Type.CREATED);
+    }
+
+    @Test
+    void testCreateTask_SameIdempotencyKeyFromManyClients_CreatesOneTask() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Retried Task");
+        request.setDescription("Sent again after a timeout");
+        String body = objectMapper.writeValueAsString(request);
+        String key = UUID.randomUUID().toString();
+
+        // Every client sends the same request with the same key at once
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(clients.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/tasks")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn();
+            }));
+        }
+        start.countDown();
+        List<Long> ids = new ArrayList<>();
+        int replayed = 0;
+        for (Future<MvcResult> result : results) {
+            assertThat(result.get().getResponse().getStatus()).isEqualTo(201);
+            ids.add(objectMapper.readValue(result.get().getResponse().getContentAsString(), Task.class).getId());
+            replayed += result.get().getResponse().getHeader(TaskIdempotency.REPLAYED) != null ? 1 : 0;
+        }
+        clients.shutdown();
+
+        assertThat(ids).containsOnly(ids.get(0));
+        assertThat(replayed).isEqualTo(threads - 1);
+        assertThat(taskRepository.count()).isEqualTo(1);
+        assertThat(taskEventRepository.count()).isEqualTo(1);
+
+        // The key cannot be reused for a different task
+        request.setTitle("Another Task");
+        mockMvc.perform(post("/tasks")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testCborAndSmile_AreNegotiatedAndJsonStaysTheDefault() throws Exception {
+        // Given - a task created with a CBOR body
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Binary Task");
+        request.setDescription("Sent as CBOR");
+        request.setCompleted(false);
+        MvcResult created = mockMvc.perform(post("/tasks")
+                        .contentType("application/cbor")
+                        .accept("application/cbor")
+                        .content(cbor.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+        Task task = cbor.readValue(created.getResponse().getContentAsByteArray(), Task.class);
+        assertThat(task.getTitle()).isEqualTo("Binary Task");
+
+        // When & Then - read back as Smile, and as JSON when nothing is asked for
+        MvcResult read = mockMvc.perform(get("/tasks/" + task.getId()).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+        assertThat(smile.readValue(read.getResponse().getContentAsByteArray(), Task.class)).isEqualTo(task);
+        MvcResult json = mockMvc.perform(get("/tasks/" + task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title", is("Binary Task")))
+                .andReturn();
+
+        // Each format has its own ETag and revalidates only with it
+        String smileETag = read.getResponse().getHeader(HttpHeaders.ETAG);
+        String jsonETag = json.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(smileETag).isEqualTo("\"" + task.getVersion() + "+smile\"");
+        assertThat(jsonETag).isEqualTo("\"" + task.getVersion() + "\"");
+        assertThat(created.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + task.getVersion() + "+cbor\"");
+        mockMvc.perform(get("/tasks/" + task.getId()).accept("application/x-jackson-smile")
+                        .header(HttpHeaders.IF_NONE_MATCH, smileETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, smileETag));
+        mockMvc.perform(get("/tasks/" + task.getId()).accept("application/x-jackson-smile")
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+
+        // If-Match takes the tag of any format
+        request.setCompleted(true);
+        mockMvc.perform(put("/tasks/" + task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, smileETag)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(true)));
+    }
+
+    private static void awaitStreamContaining(MvcResult stream, String text) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stream.getResponse().getContentAsString().contains(text)) {
+            assertThat(System.nanoTime()).as("waiting for " + text).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
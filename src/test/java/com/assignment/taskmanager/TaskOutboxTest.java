@@ -0,0 +1,178 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({TaskOutbox.class, TaskEventRelay.class, TaskOutboxTest.RecordingSink.class})
+class TaskOutboxTest {
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskEventRelay taskEventRelay;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        sink.changes.clear();
+    }
+
+    @Test
+    void testRelay_NumbersEventsInWriteOrderAndAttachesTheTask() {
+        // Given
+        TaskEntity kept = taskOutbox.recordCreate(() -> taskRepository.save(task("Kept")));
+        TaskEntity removed = taskOutbox.recordCreate(() -> taskRepository.save(task("Removed")));
+        taskOutbox.record(TaskEventEntity.Type.DELETED, removed.getId(), () -> taskRepository.deleteTaskById(removed.getId()));
+
+        // When
+        int published = taskEventRelay.relay();
+
+        // Then
+        assertThat(published).isEqualTo(3);
+        assertThat(sink.changes).extracting(TaskChange::getSeq).containsExactly(1L, 2L, 3L);
+        assertThat(sink.changes).extracting(TaskChange::getType).containsExactly(
+                TaskChange.TypeEnum.CREATED, TaskChange.TypeEnum.CREATED, TaskChange.TypeEnum.DELETED);
+        assertThat(sink.changes.get(0).getTask().getTitle()).isEqualTo("Kept");
+        assertThat(sink.changes.get(1).getTask()).isNull(); // Deleted by the time it was relayed
+        assertThat(sink.changes.get(2).getTaskId()).isEqualTo(removed.getId());
+
+        // Nothing is published twice
+        assertThat(taskEventRelay.relay()).isZero();
+        assertThat(taskOutbox.changesAfter(1L, 10)).extracting(TaskChange::getSeq).containsExactly(2L, 3L);
+        assertThat(taskOutbox.latestSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    void testRecord_WriteThatMatchesNothingLeavesNoEvent() {
+        // When
+        int updated = taskOutbox.record(TaskEventEntity.Type.UPDATED, 999L,
+                () -> taskRepository.updateTaskById(999L, "Ghost", "Ghost", true, TaskEntity.now()));
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(taskEventRepository.count()).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testAppend_RequiresTheWritersTransaction() {
+        assertThatThrownBy(() -> taskOutbox.append(TaskEventEntity.Type.UPDATED, List.of(1L)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void testPurge_KeepsEventsNotYetRelayed() {
+        // Given
+        TaskEntity saved = taskOutbox.recordCreate(() -> taskRepository.save(task("Task")));
+        taskEventRepository.findAll().forEach(event -> event.setCreatedAt(event.getCreatedAt().minusDays(30)));
+        taskEventRepository.flush();
+
+        // When & Then
+        assertThat(taskEventRelay.purge()).isZero();
+        taskEventRelay.relay();
+        assertThat(taskEventRelay.purge()).isEqualTo(1);
+        assertThat(taskRepository.existsById(saved.getId())).isTrue();
+    }
+
+    @Test
+    void testPurge_NumberingContinuesAfterEveryEventIsGone() {
+        // Given
+        taskOutbox.recordCreate(() -> taskRepository.save(task("Purged")));
+        taskEventRelay.relay();
+        taskEventRepository.findAll().forEach(event -> event.setCreatedAt(event.getCreatedAt().minusDays(30)));
+        taskEventRepository.flush();
+        assertThat(taskEventRelay.purge()).isEqualTo(1);
+        assertThat(taskEventRepository.count()).isZero();
+
+        // When
+        taskOutbox.recordCreate(() -> taskRepository.save(task("Next")));
+        sink.changes.clear();
+        taskEventRelay.relay();
+
+        // Then
+        assertThat(sink.changes).extracting(TaskChange::getSeq).containsExactly(2L);
+        assertThat(taskOutbox.latestSeq()).isEqualTo(2L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testNumberNext_SkipsWhileAnotherRelayHoldsTheCounter() throws Exception {
+        // Given
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        transactions.executeWithoutResult(status -> taskOutbox.append(TaskEventEntity.Type.CREATED, List.of(1L)));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService otherRelay = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = otherRelay.submit(() -> transactions.executeWithoutResult(status -> {
+                taskEventRepository.lockLastSeq();
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            locked.await();
+
+            // When & Then - no wait for the other relay, and nothing numbered
+            assertThat(taskOutbox.numberNext(10)).isZero();
+            release.countDown();
+            holder.get();
+
+            assertThat(taskOutbox.numberNext(10)).isEqualTo(1);
+        } finally {
+            release.countDown();
+            taskEventRepository.deleteAllInBatch();
+            transactions.executeWithoutResult(status -> taskEventRepository.updateLastSeq(0));
+        }
+    }
+
+    private static TaskEntity task(String title) {
+        TaskEntity task = new TaskEntity();
+        task.setTitle(title);
+        task.setDescription("Description");
+        return task;
+    }
+
+    static class RecordingSink implements TaskChangeSink {
+
+        final List<TaskChange> changes = new ArrayList<>();
+
+        @Override
+        public void publish(List<TaskChange> changes) {
+            this.changes.addAll(changes);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "taskmanager.cache.pages.enabled=true",
+        "taskmanager.cache.pages.expire-after-write=5m",
+        "server.compression.min-response-size=1B"
+})
+@AutoConfigureMockMvc
+class TaskPageCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskRepository.deleteAllInBatch();
+        taskEventRepository.deleteAllInBatch();
+        create("First"); // Also moves the generation past any page cached by an earlier test
+    }
+
+    @Test
+    void testUnchangedPage_IsServedWithoutQueryOrSerialization() throws Exception {
+        // Given
+        MvcResult first = mockMvc.perform(get("/tasks").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // When
+        MvcResult second;
+        try (SqlStatementMonitor.Scope scope = SqlStatementMonitor.open(true)) {
+            second = mockMvc.perform(get("/tasks").param("limit", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andReturn();
+            mockMvc.perform(get("/tasks").param("limit", "10")
+                            .header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                    .andExpect(status().isNotModified());
+
+            // Then
+            assertThat(scope.statements()).as("statements: %s", scope.sql()).isZero();
+        }
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(first.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testClientAcceptingGzip_GetsThePrecompressedBytes() throws Exception {
+        // Given
+        MvcResult plain = mockMvc.perform(get("/tasks")).andExpect(status().isOk()).andReturn();
+
+        // When
+        MvcResult gzipped = mockMvc.perform(get("/tasks").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Then
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray())).readAllBytes();
+        assertThat(body).isEqualTo(plain.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testWrite_RetiresCachedPages() throws Exception {
+        // Given
+        mockMvc.perform(get("/tasks")).andExpect(jsonPath("$", hasSize(1)));
+
+        // When
+        create("Second");
+
+        // Then
+        mockMvc.perform(get("/tasks")).andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    private void create(String title) throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Description");
+        request.setCompleted(false);
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}
@@ -1,14 +1,18 @@
 package com.assignment.taskmanager;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -202,4 +206,244 @@ class TaskRepositoryTest {
         assertThat(updatedTask.getCreatedAt()).isEqualTo(originalCreatedAt);
         assertThat(updatedTask.getUpdatedAt()).isAfterOrEqualTo(originalCreatedAt);
     }
+
+    @Test
+    void testFindViewById_ReturnsUnmanagedProjection() {
+        // Given
+        TaskEntity savedTask = taskRepository.save(sampleTask);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Optional<TaskView> view = taskRepository.findViewById(savedTask.getId());
+
+        // Then - the columns are read without putting an entity into the persistence context
+        assertThat(view).isPresent();
+        assertThat(view.get().title()).isEqualTo("Sample Task");
+        assertThat(view.get().createdAt()).isNotNull();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(taskRepository.findViewById(999L)).isEmpty();
+    }
+
+    @Test
+    void testFindViewPage_ReturnsKeysetPage() {
+        // Given
+        TaskEntity first = taskRepository.save(newTask("Task 1"));
+        TaskEntity second = taskRepository.save(newTask("Task 2"));
+        TaskEntity third = taskRepository.save(newTask("Task 3"));
+        Specification<TaskEntity> all = TaskFilter.idAfter(0L, false);
+        Sort byId = Sort.by("id");
+
+        // When
+        List<TaskView> firstPage = taskRepository.findViewPage(all, byId, 2);
+        List<TaskView> secondPage = taskRepository.findViewPage(
+                TaskFilter.idAfter(firstPage.get(firstPage.size() - 1).id(), false), byId, 2);
+
+        // Then
+        assertThat(firstPage).extracting(TaskView::id).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(TaskView::id).containsExactly(third.getId());
+    }
+
+    @Test
+    void testFindViewPage_DescendingKeyset() {
+        // Given
+        TaskEntity first = taskRepository.save(newTask("Task 1"));
+        TaskEntity second = taskRepository.save(newTask("Task 2"));
+        TaskEntity third = taskRepository.save(newTask("Task 3"));
+        Sort byIdDesc = Sort.by(Sort.Direction.DESC, "id");
+
+        // When
+        List<TaskView> page = taskRepository.findViewPage(TaskFilter.idAfter(third.getId(), true), byIdDesc, 10);
+
+        // Then
+        assertThat(page).extracting(TaskView::id).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    void testFindViewPage_AppliesFilters() {
+        // Given
+        TaskEntity done = newTask("Report Q1");
+        done.setCompleted(true);
+        taskRepository.save(done);
+        TaskEntity open = taskRepository.save(newTask("Report Q2"));
+        taskRepository.save(newTask("Shopping"));
+        taskRepository.save(newTask("Report_%"));
+        entityManager.flush();
+        ZonedDateTime since = open.getUpdatedAt().minusMinutes(1);
+
+        // When
+        List<TaskView> openReports = taskRepository.findViewPage(
+                new TaskFilter(false, null, null, since, null, "Report").toSpecification(), Sort.by("id"), 10);
+        List<TaskView> literalWildcards = taskRepository.findViewPage(
+                new TaskFilter(null, null, null, null, null, "Report_%").toSpecification(), Sort.by("id"), 10);
+        List<TaskView> createdInFuture = taskRepository.findViewPage(
+                new TaskFilter(null, ZonedDateTime.now().plusDays(1), null, null, null, null).toSpecification(),
+                Sort.by("id"), 10);
+
+        // Then
+        assertThat(openReports).extracting(TaskView::title).containsExactly("Report Q2", "Report_%");
+        assertThat(literalWildcards).extracting(TaskView::title).containsExactly("Report_%");
+        assertThat(createdInFuture).isEmpty();
+    }
+
+    @Test
+    void testStreamAllViews() {
+        // Given
+        taskRepository.save(newTask("Task 1"));
+        taskRepository.save(newTask("Task 2"));
+
+        // When
+        List<String> titles;
+        try (Stream<TaskView> tasks = taskRepository.streamAllViews()) {
+            titles = tasks.map(TaskView::title).toList();
+        }
+
+        // Then
+        assertThat(titles).containsExactly("Task 1", "Task 2");
+    }
+
+    @Test
+    void testDeleteTaskById_ReturnsAffectedRows() {
+        // Given
+        TaskEntity savedTask = taskRepository.save(sampleTask);
+
+        // When & Then
+        assertThat(taskRepository.deleteTaskById(savedTask.getId())).isEqualTo(1);
+        assertThat(taskRepository.deleteTaskById(savedTask.getId())).isZero();
+        assertThat(taskRepository.findById(savedTask.getId())).isEmpty();
+    }
+
+    @Test
+    void testUpdateTaskById_WritesColumnsInOneStatement() {
+        // Given
+        TaskEntity savedTask = taskRepository.save(sampleTask);
+        ZonedDateTime updatedAt = savedTask.getCreatedAt().plusMinutes(5);
+
+        // When
+        int updated = taskRepository.updateTaskById(savedTask.getId(), "Updated Title", "Updated Description", true, updatedAt);
+        int missing = taskRepository.updateTaskById(999L, "Ghost", "Ghost", true, updatedAt);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        TaskEntity reloaded = taskRepository.findById(savedTask.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Updated Title");
+        assertThat(reloaded.getDescription()).isEqualTo("Updated Description");
+        assertThat(reloaded.isCompleted()).isTrue();
+        assertThat(reloaded.getUpdatedAt().toInstant()).isAfter(reloaded.getCreatedAt().toInstant());
+    }
+
+    @Test
+    void testPatchTaskById_WritesOnlyGivenColumns() {
+        // Given
+        TaskEntity savedTask = taskRepository.save(sampleTask);
+        long version = savedTask.getVersion();
+        ZonedDateTime updatedAt = savedTask.getCreatedAt().plusMinutes(5);
+
+        // When
+        int patched = taskRepository.patchTaskById(savedTask.getId(), null, null, true, updatedAt, null);
+        int stale = taskRepository.patchTaskById(savedTask.getId(), "Stale", null, null, updatedAt, List.of(version));
+
+        // Then
+        assertThat(patched).isEqualTo(1);
+        assertThat(stale).isZero();
+        TaskEntity reloaded = taskRepository.findById(savedTask.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Sample Task");
+        assertThat(reloaded.getDescription()).isEqualTo("Sample Description");
+        assertThat(reloaded.isCompleted()).isTrue();
+        assertThat(reloaded.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void testUpdateCompletedByIdIn_SkipsRowsAlreadyInState() {
+        // Given
+        TaskEntity open = taskRepository.save(newTask("Open"));
+        TaskEntity done = newTask("Done");
+        done.setCompleted(true);
+        done = taskRepository.save(done);
+        long doneVersion = done.getVersion();
+
+        // When
+        int updated = taskRepository.updateCompletedByIdIn(List.of(open.getId(), done.getId(), 999L), true, TaskEntity.now());
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(taskRepository.findById(open.getId()).orElseThrow().isCompleted()).isTrue();
+        assertThat(taskRepository.findById(done.getId()).orElseThrow().getVersion()).isEqualTo(doneVersion);
+    }
+
+    @Test
+    void testDescriptionOfMaxLength_IsStored() {
+        // Given - the migrations size the column as openapi.yaml does, not at Hibernate's default of 255
+        sampleTask.setDescription("d".repeat(1000));
+
+        // When
+        TaskEntity savedTask = taskRepository.saveAndFlush(sampleTask);
+        entityManager.clear();
+
+        // Then
+        assertThat(taskRepository.findById(savedTask.getId()).orElseThrow().getDescription()).hasSize(1000);
+    }
+
+    @Test
+    void testSearch_RequiresEveryTermAndRanksTitleMatchesFirst() {
+        // Given
+        TaskEntity inDescription = newTask("Quarterly report");
+        inDescription.setDescription("Invoice the customer before the deadline");
+        inDescription = taskRepository.save(inDescription);
+        TaskEntity inTitle = taskRepository.save(newTask("Send invoices to the customer"));
+        taskRepository.save(newTask("Invoice only"));
+        taskRepository.save(newTask("Unrelated"));
+
+        // When - case and punctuation are ignored, "invoice" also matches "invoices"
+        List<TaskView> found = taskRepository.search("INVOICE, customer!", 0, 10);
+
+        // Then
+        assertThat(found).extracting(TaskView::id).containsExactly(inTitle.getId(), inDescription.getId());
+    }
+
+    @Test
+    void testSearch_PagesWithOffsetAndMatchesWildcardsLiterally() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            taskRepository.save(newTask("Release " + i));
+        }
+        taskRepository.save(newTask("Re%lease_"));
+
+        // When
+        List<TaskView> first = taskRepository.search("release", 0, 3);
+        List<TaskView> second = taskRepository.search("release", 3, 3);
+
+        // Then - equal relevance falls back to ID order
+        assertThat(first).extracting(TaskView::title).containsExactly("Release 0", "Release 1", "Release 2");
+        assertThat(second).extracting(TaskView::title).containsExactly("Release 3", "Release 4");
+        assertThat(taskRepository.search("%", 0, 10)).isEmpty();
+        assertThat(TaskSearchRepository.terms("re%lease_ Re%lease")).containsExactly("re", "lease");
+    }
+
+    @Test
+    void testSearch_FindsWordsAfterPunctuationAndLineBreaks() {
+        // Given
+        TaskEntity afterParenthesis = taskRepository.save(newTask("Plan (deploy) tomorrow"));
+        TaskEntity afterHyphen = taskRepository.save(newTask("Pre-deploy checks"));
+        TaskEntity afterLineBreak = newTask("Checklist");
+        afterLineBreak.setDescription("Backup\ndeploy\tmonitor");
+        afterLineBreak = taskRepository.save(afterLineBreak);
+        taskRepository.save(newTask("Redeploy")); // Not a word start
+
+        // When
+        List<TaskView> found = taskRepository.search("deploy", 0, 10);
+
+        // Then
+        assertThat(found).extracting(TaskView::id)
+                .containsExactly(afterParenthesis.getId(), afterHyphen.getId(), afterLineBreak.getId());
+    }
+
+    private TaskEntity newTask(String title) {
+        TaskEntity task = new TaskEntity();
+        task.setTitle(title);
+        task.setDescription("Description");
+        task.setCompleted(false);
+        return task;
+    }
 }
@@ -0,0 +1,184 @@
+package com.assignment.taskmanager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(TaskOutbox.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The writer commits on its own thread
+class TaskWriteBehindTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        taskEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testFullBatchesAreWrittenRightAwayAndTheRestOnClose() throws Exception {
+        List<TaskEntity> queued = new ArrayList<>();
+        try (TaskWriteBehind writeBehind = writeBehind(taskOutbox, 100, 10, Duration.ofMinutes(1))) {
+            // Given - JPA inserts in between draw from the same ID generator
+            for (int i = 0; i < 25; i++) {
+                queued.add(writeBehind.enqueue(task("Queued " + i)));
+                if (i % 10 == 0) {
+                    taskRepository.save(task("Saved " + i));
+                }
+            }
+
+            // When & Then - two full batches go out without waiting for max-delay
+            await(() -> taskRepository.count() == 3 + 20);
+            Thread.sleep(200);
+            assertThat(taskRepository.count()).isEqualTo(3 + 20);
+        }
+
+        // The rest is drained on close
+        assertThat(taskRepository.count()).isEqualTo(3 + 25);
+        TaskEntity first = queued.get(0);
+        TaskView stored = taskRepository.findViewById(first.getId()).orElseThrow();
+        assertThat(stored.title()).isEqualTo("Queued 0");
+        assertThat(stored.version()).isZero();
+        assertThat(stored.createdAt().toInstant()).isEqualTo(first.getCreatedAt().toInstant());
+        assertThat(taskEventRepository.findAll())
+                .filteredOn(event -> event.getType() == TaskEventEntity.Type.CREATED)
+                .extracting(TaskEventEntity::getTaskId)
+                .containsAll(queued.stream().map(TaskEntity::getId).toList());
+        assertThat(meterRegistry.get("taskmanager.ingest.batch.size").summary().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("taskmanager.ingest.batch.size").summary().totalAmount()).isEqualTo(25.0);
+    }
+
+    @Test
+    void testPartialBatchIsWrittenAfterMaxDelay() throws Exception {
+        try (TaskWriteBehind writeBehind = writeBehind(taskOutbox, 100, 500, Duration.ofMillis(50))) {
+            // When
+            for (int i = 0; i < 3; i++) {
+                writeBehind.enqueue(task("Queued " + i));
+            }
+
+            // Then
+            await(() -> taskRepository.count() == 3);
+            assertThat(meterRegistry.get("taskmanager.ingest.batch.size").summary().totalAmount()).isEqualTo(3.0);
+        }
+    }
+
+    @Test
+    void testFullQueueRejectsTasks() throws Exception {
+        // Given - the writer is held up inside its first batch
+        CountDownLatch release = new CountDownLatch(1);
+        TaskOutbox slowOutbox = new TaskOutbox() {
+            @Override
+            public void append(TaskEventEntity.Type type, Collection<Long> taskIds) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                taskOutbox.append(type, taskIds);
+            }
+        };
+        TaskWriteBehind writeBehind = writeBehind(slowOutbox, 2, 1, Duration.ofMillis(50));
+        try (writeBehind) {
+            assertThat(writeBehind.enqueue(task("Being written"))).isNotNull();
+            await(() -> writeBehind.queued() == 0);
+
+            // When
+            TaskEntity second = writeBehind.enqueue(task("Queued"));
+            TaskEntity third = writeBehind.enqueue(task("Queued"));
+            TaskEntity rejected = writeBehind.enqueue(task("Rejected"));
+
+            // Then
+            assertThat(second).isNotNull();
+            assertThat(third).isNotNull();
+            assertThat(rejected).isNull();
+            assertThat(meterRegistry.get("taskmanager.ingest.queue.depth").gauge().value()).isEqualTo(2.0);
+            release.countDown();
+        }
+        assertThat(taskRepository.count()).isEqualTo(3);
+        assertThat(meterRegistry.get("taskmanager.ingest.rejected").counter().count()).isEqualTo(1.0);
+
+        // Nothing is taken once closed
+        assertThat(writeBehind.enqueue(task("Too late"))).isNull();
+    }
+
+    @Test
+    void testFailingRowIsTheOnlyOneLost() throws Exception {
+        List<TaskEntity> queued = new ArrayList<>();
+        try (TaskWriteBehind writeBehind = writeBehind(taskOutbox, 100, 5, Duration.ofMinutes(1))) {
+            // Given - one task in the batch is longer than the title column
+            for (int i = 0; i < 5; i++) {
+                queued.add(writeBehind.enqueue(task(i == 2 ? "x".repeat(256) : "Queued " + i)));
+            }
+
+            // When - every batch attempt fails, then the rows are written one by one
+            await(() -> meterRegistry.get("taskmanager.ingest.failed").counter().count() > 0);
+        }
+
+        // Then
+        assertThat(meterRegistry.get("taskmanager.ingest.failed").counter().count()).isEqualTo(1.0);
+        assertThat(taskRepository.findAll()).extracting(TaskEntity::getId)
+                .containsExactlyInAnyOrder(queued.get(0).getId(), queued.get(1).getId(), queued.get(3).getId(),
+                        queued.get(4).getId());
+        assertThat(taskEventRepository.findAll()).extracting(TaskEventEntity::getTaskId)
+                .doesNotContain(queued.get(2).getId())
+                .hasSize(4);
+    }
+
+    private TaskWriteBehind writeBehind(TaskOutbox outbox, int queueCapacity, int batchSize, Duration maxDelay) {
+        return new TaskWriteBehind(entityManagerFactory, jdbcTemplate, transactionManager, outbox, meterRegistry,
+                queueCapacity, batchSize, maxDelay, 3, Duration.ofSeconds(30));
+    }
+
+    private static TaskEntity task(String title) {
+        TaskEntity task = new TaskEntity();
+        task.setTitle(title);
+        task.setDescription("Description");
+        return task;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.assignment.taskmanager;
 
+import com.assignment.taskmanager.model.Task;
+import com.assignment.taskmanager.model.TaskBatchResult;
+import com.assignment.taskmanager.model.TaskBatchUpdate;
+import com.assignment.taskmanager.model.TaskBulkPatch;
 import com.assignment.taskmanager.model.TaskRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,21 +11,37 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TasksApiController.class)
+@Import({TaskCache.class, TaskOutbox.class})
 class TasksApiControllerTest {
 
     @Autowired
@@ -30,14 +50,37 @@ class TasksApiControllerTest {
     @MockBean
     private TaskRepository taskRepository;
 
+    @MockBean
+    private TaskExporter taskExporter;
+
+    @MockBean
+    private TaskBatchService taskBatchService;
+
+    @MockBean
+    private TaskEventRepository taskEventRepository;
+
+    @MockBean
+    private TaskChangeBroadcaster taskChangeBroadcaster;
+
+    @MockBean
+    private TaskWriteBehind taskWriteBehind;
+
+    @MockBean
+    private TaskIdempotency taskIdempotency;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskCache taskCache;
+
     private TaskEntity sampleTaskEntity;
     private TaskRequest sampleTaskRequest;
 
     @BeforeEach
     void setUp() {
+        taskCache.invalidateAll();
+
         sampleTaskEntity = new TaskEntity();
         sampleTaskEntity.setId(1L);
         sampleTaskEntity.setTitle("Sample Task");
@@ -45,6 +88,7 @@ class TasksApiControllerTest {
         sampleTaskEntity.setCompleted(false);
         sampleTaskEntity.setCreatedAt(ZonedDateTime.now());
         sampleTaskEntity.setUpdatedAt(ZonedDateTime.now());
+        sampleTaskEntity.setVersion(3L);
 
         sampleTaskRequest = new TaskRequest();
         sampleTaskRequest.setTitle("Sample Task");
@@ -72,6 +116,61 @@ class TasksApiControllerTest {
         verify(taskRepository, times(1)).save(any(TaskEntity.class));
     }
 
+    @Test
+    void createTask_WithPreferRespondAsync_ShouldQueueTheTask() throws Exception {
+        // Given
+        when(taskWriteBehind.enqueue(any(TaskEntity.class))).thenReturn(sampleTaskEntity);
+
+        // When & Then
+        mockMvc.perform(post("/tasks")
+                .header("Prefer", "wait=10, respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.title", is("Sample Task")));
+
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+        verify(taskEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createTask_WithPreferRespondAsync_ShouldReturnTooManyRequestsWhenTheQueueIsFull() throws Exception {
+        // Given
+        when(taskWriteBehind.enqueue(any(TaskEntity.class))).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(post("/tasks")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+    }
+
+    @Test
+    void createTask_WithIdempotencyKey_ShouldCreateThroughTheDedupeStoreAndSynchronously() throws Exception {
+        // Given
+        when(taskIdempotency.<Task>execute(eq("createTask"), eq("retry-1"), any(), any(), any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).header(TaskIdempotency.REPLAYED, "true")
+                        .body(TaskMapper.toDto(sampleTaskEntity)));
+
+        // When & Then - respond-async is not applied with a key
+        mockMvc.perform(post("/tasks")
+                .header("Idempotency-Key", "retry-1")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(TaskIdempotency.REPLAYED, "true"))
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(taskWriteBehind, never()).enqueue(any(TaskEntity.class));
+    }
+
     @Test
     void createTask_WithEmptyData_ShouldReturnBadRequest() throws Exception {
         // Given - empty task request with null required fields
@@ -99,12 +198,14 @@ class TasksApiControllerTest {
         task2.setCreatedAt(ZonedDateTime.now());
         task2.setUpdatedAt(ZonedDateTime.now());
 
-        List<TaskEntity> tasks = Arrays.asList(sampleTaskEntity, task2);
-        when(taskRepository.findAll()).thenReturn(tasks);
+        List<TaskView> tasks = Arrays.asList(view(sampleTaskEntity), view(task2));
+        when(taskRepository.findViewPage(any(), any(), eq(TasksApiController.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(tasks);
 
         // When & Then
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].title", is("Sample Task")))
@@ -112,26 +213,184 @@ class TasksApiControllerTest {
                 .andExpect(jsonPath("$[1].title", is("Task 2")))
                 .andExpect(jsonPath("$[1].completed", is(true)));
 
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findViewPage(any(), eq(Sort.by(Sort.Direction.ASC, "id")), eq(TasksApiController.DEFAULT_PAGE_SIZE + 1));
+        verify(taskRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllTasks_WhenMoreAvailable_ShouldReturnNextLink() throws Exception {
+        // Given - one row more than the requested limit means there is a next page
+        TaskEntity task2 = new TaskEntity();
+        task2.setId(2L);
+        task2.setTitle("Task 2");
+        task2.setDescription("Description 2");
+        when(taskRepository.findViewPage(any(), any(), eq(2)))
+                .thenReturn(Arrays.asList(view(sampleTaskEntity), view(task2)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=1")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("limit=1")))
+                .andExpect(header().string(HttpHeaders.LINK, endsWith("rel=\"next\"")));
+    }
+
+    @Test
+    void getAllTasks_WithCursor_ShouldQueryAfterCursor() throws Exception {
+        // Given
+        when(taskRepository.findViewPage(any(), any(), eq(11))).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/tasks").param("after", "5").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(taskRepository, times(1)).findViewPage(any(), any(), eq(11));
+    }
+
+    @Test
+    void getAllTasks_WithLimitOutOfRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskRepository, never()).findViewPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllTasks_WithFiltersAndDescendingOrder_ShouldKeepFiltersInNextLink() throws Exception {
+        // Given
+        TaskEntity task2 = new TaskEntity();
+        task2.setId(2L);
+        task2.setTitle("Sample Task 2");
+        task2.setDescription("Description 2");
+        task2.setUpdatedAt(ZonedDateTime.parse("2024-02-01T10:00:00.123456Z"));
+        when(taskRepository.findViewPage(any(), any(), eq(2))).thenReturn(Arrays.asList(view(task2), view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks")
+                        .param("completed", "false")
+                        .param("updatedAfter", "2024-01-01T00:00:00Z")
+                        .param("titlePrefix", "Sample")
+                        .param("order", "desc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=2")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("titlePrefix=Sample")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("order=desc")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("afterKey=2024-02-01T10%3A00%3A00.123456Z")));
+
+        // Along (completed, updated_at, id), the index that serves the filter
+        verify(taskRepository, times(1)).findViewPage(any(),
+                eq(Sort.by(Sort.Direction.DESC, "completed", "updatedAt", "id")), eq(2));
+    }
+
+    @Test
+    void getAllTasks_WithTitlePrefix_ShouldEncodeTitleCursorInNextLink() throws Exception {
+        // Given
+        TaskEntity task2 = new TaskEntity();
+        task2.setId(2L);
+        task2.setTitle("C++ & Java");
+        task2.setDescription("Description 2");
+        when(taskRepository.findViewPage(any(), any(), eq(2))).thenReturn(Arrays.asList(view(task2), view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks").param("titlePrefix", "C").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=2")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("afterKey=C%2B%2B%20%26%20Java")));
+
+        verify(taskRepository, times(1)).findViewPage(any(), eq(Sort.by(Sort.Direction.ASC, "title", "id")), eq(2));
+    }
+
+    @Test
+    void getAllTasks_WithCursorButNoAfterKey_WhenOrderedByRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks").param("createdAfter", "2024-01-01T00:00:00Z").param("after", "5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks").param("createdAfter", "2024-01-01T00:00:00Z").param("after", "5")
+                        .param("afterKey", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskRepository, never()).findViewPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllTasks_WithInvalidTimestamp_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks").param("createdAfter", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskRepository, never()).findViewPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void exportTasks_ShouldStreamNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(taskExporter).writeNdjson(any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
     }
 
     @Test
     void getAllTasks_WhenEmpty_ShouldReturnEmptyList() throws Exception {
         // Given
-        when(taskRepository.findAll()).thenReturn(Arrays.asList());
+        when(taskRepository.findViewPage(any(), any(), anyInt())).thenReturn(Arrays.asList());
 
         // When & Then
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findViewPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void searchTasks_WhenMoreAvailable_ShouldReturnNextLinkWithOffset() throws Exception {
+        // Given
+        TaskEntity task2 = new TaskEntity();
+        task2.setId(2L);
+        task2.setTitle("Sample Task 2");
+        when(taskRepository.search("sample", 4, 3)).thenReturn(List.of(view(sampleTaskEntity), view(task2), view(task2)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/search").param("q", "sample").param("limit", "2").param("offset", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("q=sample")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("offset=6")))
+                .andExpect(header().string(HttpHeaders.LINK, endsWith("rel=\"next\"")));
+    }
+
+    @Test
+    void searchTasks_WithoutQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks/search"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/search").param("q", "sample").param("offset", "5000"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskRepository, never()).search(any(), anyInt(), anyInt());
     }
 
     @Test
     void getTaskById_WhenExists_ShouldReturnTask() throws Exception {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTaskEntity));
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
 
         // When & Then
         mockMvc.perform(get("/tasks/1"))
@@ -141,19 +400,190 @@ class TasksApiControllerTest {
                 .andExpect(jsonPath("$.description", is("Sample Description")))
                 .andExpect(jsonPath("$.completed", is(false)));
 
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, times(1)).findViewById(1L);
+    }
+
+    @Test
+    void getTaskById_WhenCached_ShouldNotHitRepository() throws Exception {
+        // Given
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+
+        // When & Then - second read is served from the cache
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Sample Task")));
+
+        verify(taskRepository, times(1)).findViewById(1L);
+    }
+
+    @Test
+    void deleteTask_ShouldInvalidateCachedTask() throws Exception {
+        // Given - task 1 is cached
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+        mockMvc.perform(get("/tasks/1")).andExpect(status().isOk());
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.empty());
+
+        // When
+        mockMvc.perform(delete("/tasks/1")).andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/tasks/1")).andExpect(status().isNotFound());
     }
 
     @Test
     void getTaskById_WhenNotExists_ShouldReturnNotFound() throws Exception {
         // Given
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskRepository.findViewById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/tasks/999"))
                 .andExpect(status().isNotFound());
 
-        verify(taskRepository, times(1)).findById(999L);
+        verify(taskRepository, times(1)).findViewById(999L);
+    }
+
+    @Test
+    void getTaskById_ShouldReturnETag() throws Exception {
+        // Given
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    void getTaskById_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutLoadingRow() throws Exception {
+        // Given
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(taskRepository, never()).findViewById(1L);
+    }
+
+    @Test
+    void getTaskById_WithStaleIfNoneMatch_ShouldReturnTask() throws Exception {
+        // Given
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    @Test
+    void getAllTasks_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(taskRepository.findViewPage(any(), any(), anyInt())).thenReturn(List.of(view(sampleTaskEntity)));
+        String etag = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateTask_WithMatchingIfMatch_ShouldUpdateConditionally() throws Exception {
+        // Given
+        when(taskRepository.updateTaskByIdAndVersionIn(eq(1L), any(), any(), anyBoolean(), any(), eq(Set.of(3L)))).thenReturn(1);
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(put("/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        // One conditional statement, no version lookup first
+        verify(taskRepository, never()).updateTaskById(any(), any(), any(), anyBoolean(), any());
+        verify(taskRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void updateTask_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(taskRepository.updateTaskByIdAndVersionIn(eq(1L), any(), any(), anyBoolean(), any(), eq(Set.of(2L)))).thenReturn(0);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(put("/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTask_WithStaleVersionInBody_ShouldReturnConflict() throws Exception {
+        // Given
+        sampleTaskRequest.setVersion(2L);
+        when(taskRepository.updateTaskByIdAndVersionIn(eq(1L), any(), any(), anyBoolean(), any(), eq(Set.of(2L)))).thenReturn(0);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(put("/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isConflict());
+
+        verify(taskRepository, never()).updateTaskById(any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void updateTask_WithVersionWhenNotExists_ShouldReturnNotFound() throws Exception {
+        // Given
+        sampleTaskRequest.setVersion(0L);
+        when(taskRepository.updateTaskByIdAndVersionIn(eq(999L), any(), any(), anyBoolean(), any(), any())).thenReturn(0);
+        when(taskRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(put("/tasks/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTaskRequest)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteTask_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(taskRepository.deleteTaskByIdAndVersionIn(1L, Set.of(2L))).thenReturn(0);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(delete("/tasks/1").header(HttpHeaders.IF_MATCH, "\"2\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskRepository, never()).deleteTaskById(any());
+    }
+
+    @Test
+    void deleteTask_WithWeakIfMatch_ShouldNeverDelete() throws Exception {
+        // Given
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then - If-Match uses the strong comparison
+        mockMvc.perform(delete("/tasks/1").header(HttpHeaders.IF_MATCH, "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskRepository, never()).deleteTaskById(any());
+        verify(taskRepository, never()).deleteTaskByIdAndVersionIn(any(), any());
     }
 
     @Test
@@ -172,8 +602,9 @@ class TasksApiControllerTest {
         updatedEntity.setCreatedAt(sampleTaskEntity.getCreatedAt());
         updatedEntity.setUpdatedAt(ZonedDateTime.now());
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTaskEntity));
-        when(taskRepository.save(any(TaskEntity.class))).thenReturn(updatedEntity);
+        when(taskRepository.updateTaskById(eq(1L), eq("Updated Task"), eq("Updated Description"), eq(true), any(ZonedDateTime.class)))
+                .thenReturn(1);
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(updatedEntity)));
 
         // When & Then
         mockMvc.perform(put("/tasks/1")
@@ -185,8 +616,8 @@ class TasksApiControllerTest {
                 .andExpect(jsonPath("$.description", is("Updated Description")))
                 .andExpect(jsonPath("$.completed", is(true)));
 
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(TaskEntity.class));
+        verify(taskRepository, times(1)).updateTaskById(eq(1L), eq("Updated Task"), eq("Updated Description"), eq(true), any(ZonedDateTime.class));
+        verify(taskRepository, never()).save(any(TaskEntity.class));
     }
 
     @Test
@@ -197,7 +628,7 @@ class TasksApiControllerTest {
         updateRequest.setDescription("Updated Description");
         updateRequest.setCompleted(true);
 
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskRepository.updateTaskById(eq(999L), any(), any(), anyBoolean(), any())).thenReturn(0);
 
         // When & Then
         mockMvc.perform(put("/tasks/999")
@@ -205,33 +636,195 @@ class TasksApiControllerTest {
                 .content(objectMapper.writeValueAsString(updateRequest)))
                 .andExpect(status().isNotFound());
 
-        verify(taskRepository, times(1)).findById(999L);
+        // No read-back when nothing was updated
+        verify(taskRepository, never()).findViewById(999L);
         verify(taskRepository, never()).save(any(TaskEntity.class));
     }
 
     @Test
     void deleteTask_WhenExists_ShouldReturnNoContent() throws Exception {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTaskEntity));
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
 
         // When & Then
         mockMvc.perform(delete("/tasks/1"))
                 .andExpect(status().isNoContent());
 
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).delete(sampleTaskEntity);
+        verify(taskRepository, times(1)).deleteTaskById(1L);
+        verify(taskRepository, never()).findViewById(1L);
     }
 
     @Test
     void deleteTask_WhenNotExists_ShouldReturnNotFound() throws Exception {
         // Given
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskRepository.deleteTaskById(999L)).thenReturn(0);
 
         // When & Then
         mockMvc.perform(delete("/tasks/999"))
                 .andExpect(status().isNotFound());
 
-        verify(taskRepository, times(1)).findById(999L);
+        verify(taskRepository, times(1)).deleteTaskById(999L);
         verify(taskRepository, never()).delete(any(TaskEntity.class));
     }
+
+    @Test
+    void patchTask_ShouldWriteOnlyThePatchedField() throws Exception {
+        // Given
+        sampleTaskEntity.setCompleted(true);
+        when(taskRepository.patchTaskById(eq(1L), isNull(), isNull(), eq(true), any(ZonedDateTime.class), isNull()))
+                .thenReturn(1);
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(patch("/tasks/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"completed\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.title", is("Sample Task")))
+                .andExpect(jsonPath("$.completed", is(true)));
+
+        verify(taskRepository, never()).updateTaskById(any(), any(), any(), anyBoolean(), any());
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+    }
+
+    @Test
+    void patchTask_WithEmptyPatch_ShouldWriteNothing() throws Exception {
+        // Given
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(view(sampleTaskEntity)));
+
+        // When & Then
+        mockMvc.perform(patch("/tasks/1")
+                .contentType("application/merge-patch+json")
+                .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(taskRepository, never()).patchTaskById(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void patchTask_WithStaleVersion_ShouldReturnConflict() throws Exception {
+        // Given
+        when(taskRepository.patchTaskById(eq(1L), eq("Renamed"), isNull(), isNull(), any(), eq(Set.of(2L))))
+                .thenReturn(0);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(patch("/tasks/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"title\": \"Renamed\", \"version\": 2}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchTasksBatch_ShouldCompleteAllIdsAtOnce() throws Exception {
+        // Given
+        taskCache.get(1L, id -> Optional.of(TaskMapper.toDto(sampleTaskEntity)));
+        when(taskBatchService.setCompletedAll(List.of(1L, 2L), true)).thenReturn(List.of(
+                new TaskBatchResult().index(0).id(1L).status(200),
+                new TaskBatchResult().index(1).id(2L).status(404)));
+
+        // When & Then
+        mockMvc.perform(patch("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskBulkPatch().ids(List.of(1L, 2L)).completed(true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[1].status", is(404)));
+
+        // The cached copy is stale now
+        assertThat(taskCache.getIfPresent(1L)).isEmpty();
+    }
+
+    @Test
+    void deleteTask_ShouldRecordAChangeOnlyWhenSomethingWasDeleted() throws Exception {
+        // Given
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
+        when(taskRepository.deleteTaskById(999L)).thenReturn(0);
+
+        // When
+        mockMvc.perform(delete("/tasks/1")).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/tasks/999")).andExpect(status().isNotFound());
+
+        // Then - one outbox row, for the task that is gone
+        verify(taskEventRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void streamTaskChanges_ShouldResumeAfterLastEventId() throws Exception {
+        // Given
+        when(taskChangeBroadcaster.subscribe(7L)).thenReturn(new SseEmitter());
+
+        // When & Then - Last-Event-ID from a reconnecting client wins over since
+        mockMvc.perform(get("/tasks/changes?since=2").header("Last-Event-ID", "7"))
+                .andExpect(request().asyncStarted());
+
+        verify(taskChangeBroadcaster, times(1)).subscribe(7L);
+    }
+
+    @Test
+    void streamTaskChanges_WithInvalidLastEventId_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/tasks/changes").header("Last-Event-ID", "not-a-number"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskChangeBroadcaster, never()).subscribe(any());
+    }
+
+    @Test
+    void createTasksBatch_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        when(taskBatchService.createAll(anyList())).thenReturn(List.of(
+                new TaskBatchResult().index(0).id(1L).status(201),
+                new TaskBatchResult().index(1).id(2L).status(201)));
+
+        // When & Then
+        mockMvc.perform(post("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(sampleTaskRequest, sampleTaskRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(201)));
+
+        verify(taskBatchService, times(1)).createAll(anyList());
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+    }
+
+    @Test
+    void updateTasksBatch_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        TaskBatchUpdate update = new TaskBatchUpdate().id(1L).title("Updated").description("Updated").completed(true);
+        when(taskBatchService.updateAll(anyList())).thenReturn(new TaskBatchService.Updated(List.of(
+                new TaskBatchResult().index(0).id(1L).status(404)), List.of()));
+
+        // When & Then
+        mockMvc.perform(put("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(update))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(404)));
+    }
+
+    @Test
+    void deleteTasksBatch_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        when(taskBatchService.deleteAll(List.of(1L, 2L))).thenReturn(List.of(
+                new TaskBatchResult().index(0).id(1L).status(204),
+                new TaskBatchResult().index(1).id(2L).status(404)));
+
+        // When & Then
+        mockMvc.perform(delete("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(204)))
+                .andExpect(jsonPath("$[1].status", is(404)));
+    }
+
+    private static TaskView view(TaskEntity entity) {
+        return new TaskView(entity.getId(), entity.getTitle(), entity.getDescription(), entity.isCompleted(),
+                entity.getCreatedAt(), entity.getUpdatedAt(), entity.getVersion());
+    }
 }
@@ -0,0 +1,142 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Round trips per TasksApi operation. A JDBC batch counts once, so the bulk calls cost the same for
+// one task as for fifty. IDs come from pooled sequences warmed up by setUp, and the context is not
+// shared, so no sequence fetch lands in a counted test.
+@SpringBootTest(properties = "taskmanager.sql.max-statements-per-request=10")
+@AutoConfigureMockMvc
+class TasksApiStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    private TaskEntity existing;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskEventRepository.deleteAllInBatch();
+        taskCache.invalidateAll();
+        existing = taskOutbox.recordCreate(() -> taskRepository.save(TaskMapper.toEntity(request("Existing"))));
+    }
+
+    @Test
+    @ExpectedStatements(2) // INSERT task, INSERT event
+    void testCreateTask() throws Exception {
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("New"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @ExpectedStatements(2) // One batched INSERT for the tasks, one for the events
+    void testCreateTasksBatch() throws Exception {
+        mockMvc.perform(post("/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request("A"), request("B"), request("C")))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(1) // The second read is served from the DTO cache
+    void testGetTaskById() throws Exception {
+        mockMvc.perform(get("/tasks/{id}", existing.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/{id}", existing.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(1) // The page only, no COUNT
+    void testGetAllTasks() throws Exception {
+        mockMvc.perform(get("/tasks").param("limit", "10")).andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(3) // UPDATE, INSERT event, SELECT the stored row
+    void testUpdateTask() throws Exception {
+        mockMvc.perform(put("/tasks/{id}", existing.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Updated"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(3) // UPDATE, INSERT event, SELECT the stored row
+    void testPatchTask() throws Exception {
+        mockMvc.perform(patch("/tasks/{id}", existing.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"completed\": true}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(2) // DELETE, INSERT event
+    void testDeleteTask() throws Exception {
+        mockMvc.perform(delete("/tasks/{id}", existing.getId())).andExpect(status().isNoContent());
+    }
+
+    @Test
+    @ExpectedStatements(3) // SELECT ... IN, batched UPDATE, INSERT event
+    void testUpdateTasksBatch() throws Exception {
+        mockMvc.perform(put("/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": " + existing.getId() + ", \"title\": \"Updated\", \"description\": \"Description\"}]"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(3) // SELECT existing IDs, one UPDATE ... IN, INSERT event
+    void testPatchTasksBatch() throws Exception {
+        mockMvc.perform(patch("/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + existing.getId() + ", 999999], \"completed\": true}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedStatements(3) // SELECT existing IDs, one DELETE ... IN, INSERT event
+    void testDeleteTasksBatch() throws Exception {
+        mockMvc.perform(delete("/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + existing.getId() + ", 999999]"))
+                .andExpect(status().isOk());
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Description");
+        request.setCompleted(false);
+        return request;
+    }
+}
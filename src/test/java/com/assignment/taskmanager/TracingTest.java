@@ -0,0 +1,101 @@
+package com.assignment.taskmanager;
+
+import com.assignment.taskmanager.model.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "management.observations.annotations.enabled=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+    }
+
+    @Test
+    void testCreateTask_HasControllerRepositoryJdbcAndSerializationSpansInOneTrace() throws Exception {
+        // Given
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Traced");
+        request.setDescription("Description");
+        request.setCompleted(false);
+
+        // When
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // Then - spans are exported in batches
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData controller = span(spans, "method", "createTask");
+        SpanData repository = span(spans, "repository", "TaskRepository");
+        SpanData serialization = span(spans, "type", "Task");
+        SpanData insert = spans.stream()
+                .filter(span -> String.valueOf(span.getAttributes().get(AttributeKey.stringKey("jdbc.query[0]")))
+                        .startsWith("insert into task_entity"))
+                .findFirst().orElseThrow();
+
+        assertThat(List.of(repository, serialization, insert))
+                .extracting(SpanData::getTraceId)
+                .containsOnly(controller.getTraceId());
+        assertThat(repository.getAttributes().get(AttributeKey.stringKey("method"))).isEqualTo("save");
+        // The repository call runs inside the controller's span, the response is written after it
+        assertThat(repository.getStartEpochNanos()).isGreaterThanOrEqualTo(controller.getStartEpochNanos());
+        assertThat(serialization.getStartEpochNanos()).isGreaterThanOrEqualTo(controller.getEndEpochNanos());
+    }
+
+    private static SpanData span(List<SpanData> spans, String key, String value) {
+        return spans.stream()
+                .filter(span -> value.equals(span.getAttributes().get(AttributeKey.stringKey(key))))
+                .findFirst().orElseThrow(() -> new AssertionError("No span with " + key + "=" + value + " in " + spans));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporter {
+
+        // Picked up next to any other exporter
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.assignment.taskmanager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsProfileTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void testAsyncWork_RunsOnVirtualThreads() throws Exception {
+        // When
+        Future<Boolean> virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual());
+
+        // Then
+        assertThat(virtual.get()).isTrue();
+    }
+
+    @Test
+    void testRepositoryCalls_WorkFromVirtualThreads() throws Exception {
+        // Given
+        TaskEntity task = new TaskEntity();
+        task.setTitle("Virtual");
+        task.setDescription("Saved from a virtual thread");
+
+        // When
+        Future<Long> saved = applicationTaskExecutor.submit(() -> taskRepository.save(task).getId());
+
+        // Then
+        assertThat(taskRepository.findById(saved.get())).isPresent();
+    }
+}
@@ -0,0 +1,338 @@
+package com.assignment.taskmanager.reactive;
+
+import com.assignment.taskmanager.model.Task;
+import com.assignment.taskmanager.model.TaskBatchResult;
+import com.assignment.taskmanager.model.TaskRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        classes = ReactiveTaskmanagerApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-testdb;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:reactive/schema-h2.sql"
+        })
+class ReactiveTasksApiControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private TaskIdAllocator idAllocator;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll().block();
+    }
+
+    @Test
+    void testFullTaskCrudWorkflow() {
+        // Create
+        Task created = webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Reactive task", false))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class)
+                .returnResult().getResponseBody();
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getCreatedAt()).isNotNull();
+
+        // Read
+        webTestClient.get().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("Reactive task");
+
+        // Update
+        webTestClient.put().uri("/tasks/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Updated", true))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Updated")
+                .jsonPath("$.completed").isEqualTo(true);
+
+        // Delete, then it is gone
+        webTestClient.delete().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUpdateTask_WhenNotExists_ShouldReturnNotFound() {
+        webTestClient.put().uri("/tasks/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Ghost", false))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testSearchTasks_IsNotImplemented() {
+        webTestClient.get().uri("/tasks/search?q=anything")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Test
+    void testGetAllTasks_KeysetPaginationWithLink() {
+        for (int i = 1; i <= 3; i++) {
+            create("Task " + i, false);
+        }
+
+        // First page is bounded and links to the rest
+        String link = webTestClient.get().uri("/tasks?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Task 1")
+                .jsonPath("$[1].title").isEqualTo("Task 2")
+                .returnResult().getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("limit=2").endsWith("rel=\"next\"");
+
+        // Following the link returns the remainder and no further link
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        webTestClient.get().uri(next)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Task 3");
+    }
+
+    @Test
+    void testGetAllTasks_FiltersAndDescendingOrder() {
+        create("Report Q1", true);
+        create("Report Q2", false);
+        create("Shopping", false);
+        create("Report Q3", false);
+
+        webTestClient.get().uri("/tasks?completed=false&titlePrefix=Report&order=desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Report Q3")
+                .jsonPath("$[1].title").isEqualTo("Report Q2");
+    }
+
+    @Test
+    void testGetAllTasks_TitlePrefixPagesInTitleOrder() {
+        create("Report B", false);
+        create("Report A", false);
+        create("Report C", false);
+
+        // Ordered along (title, id), so the cursor carries the last title
+        String link = webTestClient.get().uri("/tasks?titlePrefix=Report&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Report A")
+                .jsonPath("$[1].title").isEqualTo("Report B")
+                .returnResult().getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("afterKey=Report%20B");
+
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        webTestClient.get().uri(URI.create(next))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Report C");
+    }
+
+    @Test
+    void testGetAllTasks_WithLimitOutOfRange_ShouldReturnBadRequest() {
+        webTestClient.get().uri("/tasks?limit=5000")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testExportTasks_StreamsNdjson() {
+        create("Task 1", false);
+        create("Task 2", false);
+
+        List<Task> exported = webTestClient.get().uri("/tasks/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(exported).extracting(Task::getTitle).containsExactly("Task 1", "Task 2");
+    }
+
+    @Test
+    void testBatchCreateAndDelete() {
+        List<TaskBatchResult> created = webTestClient.post().uri("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(request("A", false), request("B", false)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskBatchResult.class)
+                .returnResult().getResponseBody();
+        assertThat(created).extracting(TaskBatchResult::getStatus).containsExactly(201, 201);
+
+        List<TaskBatchResult> deleted = webTestClient.method(HttpMethod.DELETE).uri("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(created.get(0).getId(), 999L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskBatchResult.class)
+                .returnResult().getResponseBody();
+        assertThat(deleted).extracting(TaskBatchResult::getStatus).containsExactly(204, 404);
+    }
+
+    @Test
+    void testBatchCreate_WhenEmpty_ShouldReturnBadRequest() {
+        webTestClient.post().uri("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.emptyList())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testIdAllocator_HandsOutDistinctIdsFromPooledBlocks() {
+        // When - more IDs than one block, requested concurrently
+        List<Long> ids = Flux.range(0, 3 * TaskIdAllocator.ALLOCATION_SIZE)
+                .flatMap(i -> idAllocator.nextId())
+                .collectList()
+                .block();
+
+        // Then - no duplicates, and never the first value Hibernate keeps for itself
+        assertThat(ids).doesNotHaveDuplicates().allMatch(id -> id > 1);
+    }
+
+    @Test
+    void testConditionalRequests_ETagsTrackTheStoredRow() {
+        String createdETag = webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Polled", false))
+                .exchange()
+                .expectStatus().isCreated()
+                .returnResult(Task.class).getResponseHeaders().getETag();
+        Long id = taskRepository.findAll().blockFirst().getId();
+
+        webTestClient.get().uri("/tasks/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, createdETag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, createdETag);
+
+        String updatedETag = webTestClient.put().uri("/tasks/{id}", id)
+                .header(HttpHeaders.IF_MATCH, createdETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Polled v2", false))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Task.class).getResponseHeaders().getETag();
+        assertThat(updatedETag).isNotEqualTo(createdETag);
+
+        // The old tag (or version) is stale for writes
+        webTestClient.put().uri("/tasks/{id}", id)
+                .header(HttpHeaders.IF_MATCH, createdETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Lost update", false))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.put().uri("/tasks/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Lost update", false).version(0L))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        webTestClient.delete().uri("/tasks/{id}", id)
+                .header(HttpHeaders.IF_MATCH, createdETag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.delete().uri("/tasks/{id}", id)
+                .header(HttpHeaders.IF_MATCH, updatedETag)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void testPatchTask_LeavesOtherFieldsAlone() {
+        create("Patched", false);
+        TaskRow row = taskRepository.findAll().blockFirst();
+
+        webTestClient.patch().uri("/tasks/{id}", row.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue("{\"completed\": true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (row.getVersion() + 1) + "\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Patched")
+                .jsonPath("$.completed").isEqualTo(true);
+
+        webTestClient.patch().uri("/tasks/{id}", row.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue("{\"title\": \"Stale\", \"version\": " + row.getVersion() + "}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        webTestClient.patch().uri("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\": [" + row.getId() + ", 999999], \"completed\": false}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[1].status").isEqualTo(404);
+        assertThat(taskRepository.findById(row.getId()).block().isCompleted()).isFalse();
+    }
+
+    private void create(String title, boolean completed) {
+        webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(title, completed))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private static TaskRequest request(String title, boolean completed) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Description");
+        request.setCompleted(completed);
+        return request;
+    }
+}
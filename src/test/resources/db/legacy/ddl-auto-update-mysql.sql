@@ -0,0 +1,16 @@
+-- The schema ddl-auto=update created on MySQL for the first release (TaskEntity at the baseline
+-- commit), with rows in it: task_entity alone, an AUTO_INCREMENT id, no version column, no
+-- secondary index and no generator table
+create table task_entity (
+    completed bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    description varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+insert into task_entity (completed, created_at, updated_at, description, title)
+with recursive n (i) as (select 1 union all select i + 1 from n where i < 120)
+select false, now(6), now(6), 'Description', concat('Legacy ', i) from n;